@@ -0,0 +1,83 @@
+import java.util.*;
+
+/**
+ * AnswerKey class - Immutable int -> byte map of quiz id to answer letter
+ *
+ * Stored as parallel sorted arrays so a course with hundreds of questions
+ * costs a few bytes per question and lookups need no locking.
+ */
+class AnswerKey {
+    private static final byte NO_ANSWER = 0;
+
+    private final int[] quizIds;
+    private final byte[] answers;
+
+    private AnswerKey(int[] quizIds, byte[] answers) {
+        this.quizIds = quizIds;
+        this.answers = answers;
+    }
+
+    /**
+     * Returns the answer letter for a quiz, or 0 if the quiz is not in this key
+     */
+    public byte get(int quizId) {
+        int index = Arrays.binarySearch(quizIds, quizId);
+        return index >= 0 ? answers[index] : NO_ANSWER;
+    }
+
+    public boolean contains(int quizId) {
+        return Arrays.binarySearch(quizIds, quizId) >= 0;
+    }
+
+    /**
+     * Checks a submitted answer letter against the key
+     */
+    public boolean isCorrect(int quizId, String answer) {
+        byte correct = get(quizId);
+        return correct != NO_ANSWER && answer != null && answer.length() == 1 && answer.charAt(0) == correct;
+    }
+
+    public int size() {
+        return quizIds.length;
+    }
+
+    /**
+     * Builder that collects rows in any order and sorts them once
+     */
+    static class Builder {
+        private int[] quizIds = new int[16];
+        private byte[] answers = new byte[16];
+        private int size;
+
+        public Builder put(int quizId, String answer) {
+            if (answer == null || answer.isEmpty()) {
+                return this;
+            }
+            if (size == quizIds.length) {
+                quizIds = Arrays.copyOf(quizIds, size * 2);
+                answers = Arrays.copyOf(answers, size * 2);
+            }
+            quizIds[size] = quizId;
+            answers[size] = (byte) answer.charAt(0);
+            size++;
+            return this;
+        }
+
+        public AnswerKey build() {
+            // Sort by quiz id, carrying the answers along
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparingInt(i -> quizIds[i]));
+
+            int[] sortedIds = new int[size];
+            byte[] sortedAnswers = new byte[size];
+            for (int i = 0; i < size; i++) {
+                sortedIds[i] = quizIds[order[i]];
+                sortedAnswers[i] = answers[order[i]];
+            }
+            return new AnswerKey(sortedIds, sortedAnswers);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+import java.sql.SQLException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * AnswerKeyCache class - In-memory answer keys used for quiz grading
+ *
+ * Each course's correct answers are held as a compact quiz id -> answer letter map.
+ * Keys are loaded once per course and dropped whenever that course's quizzes change.
+ */
+public class AnswerKeyCache {
+    private final ConcurrentHashMap<Integer, AnswerKey> keysByCourse = new ConcurrentHashMap<>();
+
+    // Bumped on every invalidation so a load that raced with a write is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * Loads the answer key for a course from the database
+     */
+    public interface Loader {
+        AnswerKey load(int courseId) throws SQLException;
+    }
+
+    /**
+     * Returns the cached answer key for a course, loading it on a miss
+     */
+    public AnswerKey get(int courseId, Loader loader) throws SQLException {
+        AnswerKey key = keysByCourse.get(courseId);
+        if (key != null) {
+            hits.increment();
+            return key;
+        }
+
+        misses.increment();
+        long loadGeneration = generation.get();
+        key = loader.load(courseId);
+
+        // Publish, then take it back if an upload or reseed happened since loading started.
+        // invalidate() bumps the generation before removing, so a stale key can't survive both.
+        if (keysByCourse.putIfAbsent(courseId, key) == null && generation.get() != loadGeneration) {
+            keysByCourse.remove(courseId, key);
+        }
+        return key;
+    }
+
+    /**
+     * Drops the cached key for a course after its quizzes change
+     */
+    public void invalidate(int courseId) {
+        generation.incrementAndGet();
+        keysByCourse.remove(courseId);
+        invalidations.increment();
+    }
+
+    /**
+     * Drops every cached key, e.g. after the quiz tables are reseeded
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        keysByCourse.clear();
+        invalidations.increment();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getInvalidationCount() {
+        return invalidations.sum();
+    }
+
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total > 0 ? (double) hitCount / total : 0;
+    }
+
+    public int size() {
+        return keysByCourse.size();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("AnswerKeyCache[courses=%d, hits=%d, misses=%d, invalidations=%d, hitRate=%.1f%%]",
+            size(), getHitCount(), getMissCount(), getInvalidationCount(), getHitRate() * 100);
+    }
+}
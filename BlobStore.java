@@ -0,0 +1,109 @@
+import java.io.*;
+import java.nio.file.*;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * BlobStore class - Content-addressed file storage for uploaded materials
+ *
+ * Files are stored once per distinct content under blobs/<aa>/<bb>/<sha256>,
+ * whatever they were called. The SHA-256 is computed while the file is copied,
+ * so identical uploads cost one read of the source and no extra disk space.
+ */
+public class BlobStore {
+    private final Path root;
+    private final Path tempDir;
+
+    public BlobStore(Path root) {
+        this.root = root;
+        this.tempDir = root.resolve("tmp");
+    }
+
+    /**
+     * Copies a file into the store, hashing it on the way.
+     * If the content is already stored, the copy is discarded and the existing blob is returned.
+     */
+    public StoredBlob store(Path source) throws IOException {
+        Files.createDirectories(tempDir);
+        Path temp = Files.createTempFile(tempDir, "upload-", ".part");
+
+        String hash;
+        long size;
+        try {
+            MessageDigest digest = newDigest();
+            try (InputStream in = new DigestInputStream(new BufferedInputStream(Files.newInputStream(source)), digest);
+                 OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                size = in.transferTo(out);
+            }
+            hash = toHex(digest.digest());
+
+            Path target = pathFor(hash);
+            if (Files.exists(target)) {
+                Files.delete(temp);
+                return new StoredBlob(hash, target, size, false);
+            }
+
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // Another upload of the same content won the race
+                Files.deleteIfExists(temp);
+                return new StoredBlob(hash, target, size, false);
+            }
+            return new StoredBlob(hash, target, size, true);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    /**
+     * Location of a blob
+     */
+    public Path pathFor(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    /**
+     * Returns a path to a blob ending in the given extension, so the desktop knows
+     * which application opens it. Made on first use as a hard link under views/,
+     * or a copy where links aren't supported.
+     */
+    public Path viewPath(Path blob, String extension) throws IOException {
+        String name = blob.getFileName().toString();
+        if (name.endsWith(extension)) {
+            return blob;
+        }
+        Path view = root.resolve("views").resolve(name + extension);
+        if (!Files.exists(view)) {
+            Files.createDirectories(view.getParent());
+            try {
+                Files.createLink(view, blob);
+            } catch (FileAlreadyExistsException e) {
+                // Another caller made it first
+            } catch (UnsupportedOperationException | IOException e) {
+                Files.copy(blob, view, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        return view;
+    }
+
+    static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16));
+            hex.append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+}
@@ -0,0 +1,710 @@
+import java.lang.reflect.*;
+import java.sql.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * ConnectionPool class - Bounded JDBC connection pool used by the backend
+ *
+ * Connections are handed out as proxies whose close() returns the physical
+ * connection to the pool, so callers can use the usual try-with-resources.
+ * - Bounded: at most maxSize physical connections exist at any time
+ * - Acquire timeout: callers wait up to acquireTimeoutMillis for a free slot
+ * - Validation on borrow: connections idle for a while are checked with isValid() before reuse
+ * - Idle eviction: connections idle longer than idleTimeoutMillis are closed down to minSize
+ * - Statement timing: with a QueryStats set, statements are proxied too and every
+ *   execution is timed and recorded by SQL shape
+ * - Statement cache: each connection keeps an LRU of prepared statements by SQL, so
+ *   hot statements are prepared once per connection and close() only hands them back
+ */
+public class ConnectionPool {
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int minSize;
+    private final int maxSize;
+    private final long acquireTimeoutMillis;
+    private final long idleTimeoutMillis;
+
+    // One permit per connection that may be checked out
+    private final Semaphore permits;
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final AtomicInteger activeConnections = new AtomicInteger();
+    private final AtomicInteger waiters = new AtomicInteger();
+
+    // Acquire latency metrics
+    private final LongAdder acquireCount = new LongAdder();
+    private final LongAdder acquireNanos = new LongAdder();
+    private final AtomicLong maxAcquireNanos = new AtomicLong();
+    private final LongAdder acquireTimeouts = new LongAdder();
+
+    private final ScheduledExecutorService evictor;
+    private volatile boolean closed;
+
+    // Per-statement timing; null leaves statements unwrapped
+    private volatile QueryStats queryStats;
+
+    // Connections idle at least this long are validated before they are handed out again
+    private volatile long validationIdleMillis = 5000;
+
+    // Prepared statements kept open per connection; 0 disables the cache
+    private volatile int statementCacheSize;
+    private final LongAdder statementCacheHits = new LongAdder();
+    private final LongAdder statementCacheMisses = new LongAdder();
+    private final LongAdder statementCacheEvictions = new LongAdder();
+
+    public ConnectionPool(String url, String user, String password,
+                          int minSize, int maxSize, long acquireTimeoutMillis, long idleTimeoutMillis) {
+        if (minSize < 0 || maxSize < 1 || minSize > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: min=" + minSize + ", max=" + maxSize);
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.permits = new Semaphore(maxSize, true);
+
+        this.evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "lms-pool-evictor");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1000, idleTimeoutMillis / 2);
+        evictor.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Opens the minimum number of connections up front so the first requests don't pay for it
+     */
+    public void warmUp() throws SQLException {
+        while (totalConnections.get() < minSize) {
+            idle.offerFirst(new PooledConnection(openPhysical()));
+        }
+    }
+
+    /**
+     * Borrows a connection, waiting up to the acquire timeout for one to become free.
+     * Closing the returned connection hands it back to the pool.
+     */
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+
+        long start = System.nanoTime();
+        waiters.incrementAndGet();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        } finally {
+            waiters.decrementAndGet();
+        }
+
+        if (!acquired) {
+            acquireTimeouts.increment();
+            throw new SQLTimeoutException("Timed out after " + acquireTimeoutMillis +
+                "ms waiting for a database connection (active=" + activeConnections.get() + ")");
+        }
+
+        try {
+            PooledConnection pooled = takeValidIdle();
+            if (pooled == null) {
+                pooled = new PooledConnection(openPhysical());
+            }
+            pooled.checkedOut = true;
+            activeConnections.incrementAndGet();
+            recordAcquire(System.nanoTime() - start);
+            return pooled.newHandle();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Pops idle connections until one passes validation; broken ones are discarded.
+     * A connection returned within the validation interval is trusted without a round trip.
+     */
+    private PooledConnection takeValidIdle() {
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            try {
+                if (System.currentTimeMillis() - pooled.lastUsed < validationIdleMillis
+                        || pooled.physical.isValid(2)) {
+                    return pooled;
+                }
+            } catch (SQLException e) {
+                // fall through and discard
+            }
+            discard(pooled);
+        }
+        return null;
+    }
+
+    private Connection openPhysical() throws SQLException {
+        Connection physical = DriverManager.getConnection(url, user, password);
+        totalConnections.incrementAndGet();
+        return physical;
+    }
+
+    private void recordAcquire(long nanos) {
+        acquireCount.increment();
+        acquireNanos.add(nanos);
+        long max;
+        while (nanos > (max = maxAcquireNanos.get())) {
+            if (maxAcquireNanos.compareAndSet(max, nanos)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Returns a connection to the idle list, resetting any transaction state left behind
+     */
+    private void release(PooledConnection pooled) {
+        pooled.checkedOut = false;
+        activeConnections.decrementAndGet();
+        try {
+            if (closed) {
+                discard(pooled);
+                return;
+            }
+            try {
+                if (!pooled.physical.getAutoCommit()) {
+                    pooled.physical.rollback();
+                    pooled.physical.setAutoCommit(true);
+                }
+                pooled.lastUsed = System.currentTimeMillis();
+                idle.offerFirst(pooled);
+            } catch (SQLException e) {
+                discard(pooled);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void discard(PooledConnection pooled) {
+        totalConnections.decrementAndGet();
+        try {
+            pooled.physical.close();
+        } catch (SQLException e) {
+            // Connection is already unusable
+        }
+    }
+
+    /**
+     * Closes connections that have been idle too long, keeping at least minSize open
+     */
+    private void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleTimeoutMillis;
+        // Oldest connections sit at the tail because releases push to the head
+        while (totalConnections.get() > minSize) {
+            PooledConnection oldest = idle.pollLast();
+            if (oldest == null) {
+                break;
+            }
+            if (oldest.lastUsed > cutoff) {
+                idle.offerLast(oldest);
+                break;
+            }
+            discard(oldest);
+        }
+    }
+
+    /**
+     * Closes all idle connections; checked-out connections are closed when returned
+     */
+    public void close() {
+        closed = true;
+        evictor.shutdownNow();
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            discard(pooled);
+        }
+    }
+
+    /**
+     * Times every statement executed on connections checked out from now on; null turns timing off
+     */
+    public void setQueryStats(QueryStats queryStats) {
+        this.queryStats = queryStats;
+    }
+
+    public QueryStats getQueryStats() {
+        return queryStats;
+    }
+
+    /**
+     * Sets how long a connection may sit idle before it is validated on borrow; 0 validates every borrow
+     */
+    public void setValidationIdleMillis(long validationIdleMillis) {
+        this.validationIdleMillis = Math.max(0, validationIdleMillis);
+    }
+
+    /**
+     * Sets how many prepared statements each connection keeps open for reuse; 0 turns caching off
+     */
+    public void setStatementCacheSize(int statementCacheSize) {
+        this.statementCacheSize = Math.max(0, statementCacheSize);
+    }
+
+    public int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+
+    // Pool metrics
+
+    public int getActiveCount() {
+        return activeConnections.get();
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    public int getTotalCount() {
+        return totalConnections.get();
+    }
+
+    public int getWaiterCount() {
+        return waiters.get();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getAcquireCount() {
+        return acquireCount.sum();
+    }
+
+    public long getAcquireTimeoutCount() {
+        return acquireTimeouts.sum();
+    }
+
+    public double getAverageAcquireMillis() {
+        long count = acquireCount.sum();
+        return count > 0 ? acquireNanos.sum() / (count * 1_000_000.0) : 0;
+    }
+
+    public double getMaxAcquireMillis() {
+        return maxAcquireNanos.get() / 1_000_000.0;
+    }
+
+    public long getStatementCacheHits() {
+        return statementCacheHits.sum();
+    }
+
+    public long getStatementCacheMisses() {
+        return statementCacheMisses.sum();
+    }
+
+    public long getStatementCacheEvictions() {
+        return statementCacheEvictions.sum();
+    }
+
+    public double getStatementCacheHitRate() {
+        long hits = statementCacheHits.sum();
+        long total = hits + statementCacheMisses.sum();
+        return total > 0 ? (double) hits / total : 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ConnectionPool[active=%d, idle=%d, total=%d/%d, waiters=%d, acquires=%d, timeouts=%d, avgAcquire=%.3fms, maxAcquire=%.3fms, statementCacheHitRate=%.3f]",
+            getActiveCount(), getIdleCount(), getTotalCount(), maxSize, getWaiterCount(),
+            getAcquireCount(), getAcquireTimeoutCount(), getAverageAcquireMillis(), getMaxAcquireMillis(),
+            getStatementCacheHitRate());
+    }
+
+    /**
+     * A physical connection owned by the pool
+     */
+    private class PooledConnection {
+        final Connection physical;
+        volatile long lastUsed = System.currentTimeMillis();
+        volatile boolean checkedOut;
+
+        // Prepared statements by SQL (plus generated-keys flag), least recently used first
+        private final LinkedHashMap<String, CachedStatement> statements = new LinkedHashMap<>(16, 0.75f, true);
+
+        PooledConnection(Connection physical) {
+            this.physical = physical;
+        }
+
+        Connection newHandle() {
+            return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new Handle(this)
+            );
+        }
+
+        /**
+         * Takes the cached statement for this SQL, or prepares one and caches it.
+         * If the cached one is already in use in this checkout, a private one is
+         * prepared instead and closed when handed back.
+         */
+        synchronized CachedStatement borrowStatement(String sql, Object[] args, int capacity) throws SQLException {
+            String key = args.length == 1 ? sql : sql + '\u0000' + args[1];
+            CachedStatement cached = statements.get(key);
+            if (cached != null && !cached.inUse) {
+                statementCacheHits.increment();
+                cached.inUse = true;
+                cached.reused = true;
+                return cached;
+            }
+
+            statementCacheMisses.increment();
+            PreparedStatement statement = args.length == 1
+                ? physical.prepareStatement(sql)
+                : physical.prepareStatement(sql, (Integer) args[1]);
+            CachedStatement fresh = new CachedStatement(key, statement);
+            fresh.inUse = true;
+            if (cached != null) {
+                fresh.evicted = true;
+                return fresh;
+            }
+
+            statements.put(key, fresh);
+            Iterator<CachedStatement> eldest = statements.values().iterator();
+            while (statements.size() > capacity && eldest.hasNext()) {
+                CachedStatement victim = eldest.next();
+                eldest.remove();
+                statementCacheEvictions.increment();
+                if (victim.inUse) {
+                    victim.evicted = true;
+                } else {
+                    closeQuietly(victim.statement);
+                }
+            }
+            return fresh;
+        }
+
+        /**
+         * Hands a statement back: cached ones get their parameters cleared for the next user
+         */
+        synchronized void returnStatement(CachedStatement cached) {
+            if (!cached.inUse) {
+                return;
+            }
+            cached.inUse = false;
+            if (cached.evicted) {
+                closeQuietly(cached.statement);
+                return;
+            }
+            try {
+                cached.statement.clearParameters();
+                cached.statement.clearBatch();
+            } catch (SQLException e) {
+                statements.remove(cached.key);
+                closeQuietly(cached.statement);
+            }
+        }
+
+        private void closeQuietly(Statement statement) {
+            try {
+                statement.close();
+            } catch (SQLException e) {
+                // Closing the connection will release it anyway
+            }
+        }
+    }
+
+    /**
+     * A prepared statement kept open by a PooledConnection; only touched by its current user
+     */
+    private static class CachedStatement {
+        final String key;
+        final PreparedStatement statement;
+        boolean inUse;
+        // Whether the latest borrow found it already prepared
+        boolean reused;
+        // Dropped from the cache while in use; closed when handed back
+        boolean evicted;
+
+        CachedStatement(String key, PreparedStatement statement) {
+            this.key = key;
+            this.statement = statement;
+        }
+    }
+
+    /**
+     * Proxy handler for a single checkout: close() returns the connection to the pool,
+     * and any use after close fails instead of touching a connection someone else holds
+     */
+    private class Handle implements InvocationHandler {
+        private final PooledConnection pooled;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        // Cached statements borrowed by this checkout, handed back on close even if the caller leaked them
+        private final List<CachedStatement> borrowed = new ArrayList<>();
+
+        Handle(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("close")) {
+                if (released.compareAndSet(false, true)) {
+                    for (CachedStatement cached : borrowed) {
+                        pooled.returnStatement(cached);
+                    }
+                    borrowed.clear();
+                    release(pooled);
+                }
+                return null;
+            }
+            if (name.equals("isClosed")) {
+                return released.get() || pooled.physical.isClosed();
+            }
+            if (name.equals("equals")) {
+                return proxy == args[0];
+            }
+            if (name.equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            }
+            if (name.equals("toString")) {
+                return "PooledConnection[" + pooled.physical + "]";
+            }
+            if (released.get()) {
+                throw new SQLException("Connection has already been returned to the pool");
+            }
+            Object result;
+            boolean reused = false;
+            int cacheSize = statementCacheSize;
+            if (cacheSize > 0 && name.equals("prepareStatement") && isCacheable(args)) {
+                CachedStatement cached = pooled.borrowStatement((String) args[0], args, cacheSize);
+                borrowed.add(cached);
+                reused = cached.reused;
+                result = Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    new CachedStatementHandle(this, proxy, cached)
+                );
+            } else {
+                try {
+                    result = method.invoke(pooled.physical, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+
+            QueryStats stats = queryStats;
+            if (stats != null && result instanceof Statement) {
+                // prepareStatement/prepareCall fix the SQL up front; createStatement passes it per execute
+                String sql = name.startsWith("prepare") ? (String) args[0] : null;
+                if (sql != null) {
+                    stats.recordPrepare(sql, reused);
+                }
+                Class<?> type = method.getReturnType();
+                return Proxy.newProxyInstance(
+                    type.getClassLoader(),
+                    new Class<?>[]{type},
+                    new TimedStatement((Statement) result, sql, stats)
+                );
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Only plain prepareStatement(sql) and prepareStatement(sql, autoGeneratedKeys) are cached
+     */
+    private static boolean isCacheable(Object[] args) {
+        return args.length == 1 || (args.length == 2 && args[1] instanceof Integer);
+    }
+
+    /**
+     * Proxy handler for one borrow of a cached statement: close() hands it back to the
+     * connection's cache, and use after that (or after the connection is returned) fails
+     */
+    private static class CachedStatementHandle implements InvocationHandler {
+        private final Handle connection;
+        private final Object connectionProxy;
+        private final CachedStatement cached;
+        private boolean closed;
+
+        CachedStatementHandle(Handle connection, Object connectionProxy, CachedStatement cached) {
+            this.connection = connection;
+            this.connectionProxy = connectionProxy;
+            this.cached = cached;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("close")) {
+                if (!closed) {
+                    closed = true;
+                    connection.pooled.returnStatement(cached);
+                    connection.borrowed.remove(cached);
+                }
+                return null;
+            }
+            if (name.equals("isClosed")) {
+                return closed || connection.released.get();
+            }
+            if (name.equals("equals")) {
+                return proxy == args[0];
+            }
+            if (name.equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            }
+            if (closed || connection.released.get()) {
+                throw new SQLException("Statement has already been closed");
+            }
+            if (name.equals("getConnection")) {
+                return connectionProxy;
+            }
+            try {
+                return method.invoke(cached.statement, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * Proxy handler for one statement: times each execution into QueryStats.
+     * A query's rows are counted as its result set is read, so it is recorded
+     * when the result set (or the statement, or the next execution) closes it out.
+     */
+    private static class TimedStatement implements InvocationHandler {
+        private final Statement statement;
+        private final String sql;
+        private final QueryStats stats;
+
+        // Last SQL added with Statement.addBatch(String), for plain statement batches
+        private String batchSql;
+
+        // The query whose result set is still open
+        private boolean pending;
+        private String pendingSql;
+        private long pendingNanos;
+        private long pendingRows;
+        private int generation;
+
+        TimedStatement(Statement statement, String sql, QueryStats stats) {
+            this.statement = statement;
+            this.sql = sql;
+            this.stats = stats;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                return execute(proxy, method, args);
+            }
+            if (name.equals("close")) {
+                finishPending();
+            } else if (name.equals("addBatch") && args != null && args.length == 1) {
+                batchSql = (String) args[0];
+            } else if (name.equals("equals")) {
+                return proxy == args[0];
+            } else if (name.equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            }
+            try {
+                return method.invoke(statement, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private Object execute(Object proxy, Method method, Object[] args) throws Throwable {
+            finishPending();
+            String executedSql = sql != null ? sql
+                : args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : batchSql;
+
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = method.invoke(statement, args);
+            } catch (InvocationTargetException e) {
+                stats.record(executedSql, System.nanoTime() - start, 0, true);
+                throw e.getCause();
+            }
+            long nanos = System.nanoTime() - start;
+
+            if (result instanceof ResultSet) {
+                pending = true;
+                pendingSql = executedSql;
+                pendingNanos = nanos;
+                pendingRows = 0;
+                return countRows(proxy, (ResultSet) result, ++generation);
+            }
+
+            long rows = 0;
+            if (result instanceof Number) {
+                rows = Math.max(0, ((Number) result).longValue());
+            } else if (result instanceof int[]) {
+                for (int count : (int[]) result) {
+                    // SUCCESS_NO_INFO still means a row was written
+                    rows += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(0, count);
+                }
+            } else if (result instanceof long[]) {
+                for (long count : (long[]) result) {
+                    rows += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(0, count);
+                }
+            } else if (Boolean.FALSE.equals(result)) {
+                rows = Math.max(0, statement.getUpdateCount());
+            }
+            if (method.getName().endsWith("Batch")) {
+                batchSql = null;
+            }
+            stats.record(executedSql, nanos, rows, false);
+            return result;
+        }
+
+        /**
+         * Wraps a query's result set so rows read count towards its execution
+         */
+        private ResultSet countRows(Object statementProxy, ResultSet resultSet, int resultGeneration) {
+            return (ResultSet) Proxy.newProxyInstance(
+                ResultSet.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (name.equals("getStatement")) {
+                        return statementProxy;
+                    }
+                    Object result;
+                    try {
+                        result = method.invoke(resultSet, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                    // Only the latest execution's result set is still pending
+                    if (resultGeneration == generation) {
+                        if (name.equals("next") && Boolean.TRUE.equals(result)) {
+                            pendingRows++;
+                        } else if (name.equals("close")) {
+                            finishPending();
+                        }
+                    }
+                    return result;
+                }
+            );
+        }
+
+        private void finishPending() {
+            if (pending) {
+                pending = false;
+                stats.record(pendingSql, pendingNanos, pendingRows, false);
+            }
+        }
+    }
+}
@@ -0,0 +1,142 @@
+import java.sql.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * CourseRegistry class - In-memory course name <-> id lookup
+ *
+ * Loaded once at startup so backend methods can resolve a course name without
+ * a query or a JOIN on courses. Courses created by another process are picked
+ * up on the first lookup that misses.
+ */
+public class CourseRegistry {
+    private final ConcurrentHashMap<String, Integer> idsByName = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Integer, String> namesById = new ConcurrentSkipListMap<>();
+
+    /**
+     * Replaces the registry contents with every course in the database
+     */
+    public void load(Connection conn) throws SQLException {
+        Statement stmt = conn.createStatement();
+        ResultSet rs = stmt.executeQuery("SELECT id, courseName FROM courses");
+
+        Map<String, Integer> loaded = new HashMap<>();
+        while (rs.next()) {
+            loaded.put(rs.getString("courseName"), rs.getInt("id"));
+        }
+        rs.close();
+        stmt.close();
+
+        idsByName.clear();
+        namesById.clear();
+        for (Map.Entry<String, Integer> course : loaded.entrySet()) {
+            register(course.getKey(), course.getValue());
+        }
+    }
+
+    /**
+     * Resolves a course name from memory only, or null if it isn't registered
+     */
+    public Integer getId(String courseName) {
+        return idsByName.get(courseName);
+    }
+
+    /**
+     * Resolves a course name to its id, or null if no such course exists
+     */
+    public Integer getId(Connection conn, String courseName) throws SQLException {
+        Integer courseId = idsByName.get(courseName);
+        if (courseId != null) {
+            return courseId;
+        }
+        return lookup(conn, courseName);
+    }
+
+    /**
+     * Resolves a course name to its id, creating the course if needed.
+     * Safe against concurrent creators in this and other processes: the UNIQUE
+     * key on courseName decides the winner and everyone reads back the same id.
+     */
+    public int getOrCreate(Connection conn, String courseName) throws SQLException {
+        Integer courseId = getId(conn, courseName);
+        if (courseId != null) {
+            return courseId;
+        }
+
+        PreparedStatement insertStmt = conn.prepareStatement(
+            "INSERT IGNORE INTO courses (courseName) VALUES (?)"
+        );
+        insertStmt.setString(1, courseName);
+        insertStmt.executeUpdate();
+        insertStmt.close();
+
+        courseId = lookup(conn, courseName);
+        if (courseId == null) {
+            throw new SQLException("Could not create course " + courseName);
+        }
+        return courseId;
+    }
+
+    /**
+     * Returns the name of a course id, or null if it is unknown
+     */
+    public String getName(int courseId) {
+        return namesById.get(courseId);
+    }
+
+    /**
+     * Returns the name of a course id, checking the database for courses created elsewhere
+     */
+    public String getName(Connection conn, int courseId) throws SQLException {
+        String courseName = namesById.get(courseId);
+        if (courseName != null) {
+            return courseName;
+        }
+
+        PreparedStatement stmt = conn.prepareStatement(
+            "SELECT courseName FROM courses WHERE id = ?"
+        );
+        stmt.setInt(1, courseId);
+        ResultSet rs = stmt.executeQuery();
+        if (rs.next()) {
+            courseName = rs.getString("courseName");
+            register(courseName, courseId);
+        }
+        rs.close();
+        stmt.close();
+        return courseName;
+    }
+
+    /**
+     * All known course names in creation order
+     */
+    public List<String> getCourseNames() {
+        return new ArrayList<>(namesById.values());
+    }
+
+    private Integer lookup(Connection conn, String courseName) throws SQLException {
+        PreparedStatement stmt = conn.prepareStatement(
+            "SELECT id FROM courses WHERE courseName = ?"
+        );
+        stmt.setString(1, courseName);
+        ResultSet rs = stmt.executeQuery();
+
+        Integer courseId = null;
+        if (rs.next()) {
+            courseId = rs.getInt("id");
+        }
+        rs.close();
+        stmt.close();
+
+        if (courseId != null) {
+            register(courseName, courseId);
+        }
+        return courseId;
+    }
+
+    private void register(String courseName, int courseId) {
+        idsByName.put(courseName, courseId);
+        namesById.put(courseId, courseName);
+    }
+}
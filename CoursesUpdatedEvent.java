@@ -0,0 +1,9 @@
+/**
+ * CoursesUpdatedEvent class - Course list or course content changed; any number collapse into one refresh
+ */
+class CoursesUpdatedEvent implements LMSEvent {
+    @Override
+    public Object coalesceKey() {
+        return CoursesUpdatedEvent.class;
+    }
+}
@@ -0,0 +1,297 @@
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * ExtractedTextCache class - Two-tier cache of text extracted from materials
+ *
+ * Keyed by the SHA-256 of the material's content, so a changed file always
+ * gets a new entry and stale text can never be served for it.
+ * - Memory tier: LRU bounded by a byte budget; long texts keep only a prefix
+ * - Disk tier: gzip-compressed text under the cache directory, kept across restarts
+ * - Miss: the extractor runs once per hash, even with concurrent callers
+ * - Partial text, e.g. from a timed-out extraction, is served once but never cached
+ */
+public class ExtractedTextCache {
+    /**
+     * Writes the full extracted text for a cache miss
+     */
+    public interface Extractor {
+        /**
+         * @return how what was written should be cached
+         */
+        Outcome extract(Writer out) throws IOException;
+    }
+
+    /**
+     * What an extraction produced
+     */
+    public enum Outcome {
+        // The full text; cached
+        COMPLETE,
+        // Cut short, e.g. by a time budget; served to this caller and extracted again next time
+        PARTIAL,
+        // Not usable as text; an empty text is cached in its place
+        UNUSABLE
+    }
+
+    private final Path directory;
+    private final long memoryBudgetBytes;
+    private final int maxMemoryEntryChars;
+
+    // Access-ordered map for LRU eviction; guarded by "this"
+    private final LinkedHashMap<String, Entry> memory = new LinkedHashMap<>(64, 0.75f, true);
+    private long memoryBytes;
+
+    // One lock object per hash currently being extracted
+    private final ConcurrentHashMap<String, Object> extractionLocks = new ConcurrentHashMap<>();
+
+    private final LongAdder memoryHits = new LongAdder();
+    private final LongAdder diskHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param directory           where compressed texts are stored
+     * @param memoryBudgetBytes   approximate heap the memory tier may use
+     * @param maxMemoryEntryChars longer texts only keep this many leading characters in memory
+     */
+    public ExtractedTextCache(Path directory, long memoryBudgetBytes, int maxMemoryEntryChars) {
+        this.directory = directory;
+        this.memoryBudgetBytes = memoryBudgetBytes;
+        this.maxMemoryEntryChars = maxMemoryEntryChars;
+    }
+
+    /**
+     * Returns up to maxChars leading characters of the text for a content hash,
+     * extracting it on a miss
+     */
+    public String get(String contentHash, int maxChars, Extractor extractor) throws IOException {
+        String cached = getFromMemory(contentHash, maxChars);
+        if (cached != null) {
+            memoryHits.increment();
+            return cached;
+        }
+
+        Path file = pathFor(contentHash);
+        Path partial = null;
+        if (Files.exists(file)) {
+            diskHits.increment();
+        } else {
+            misses.increment();
+            partial = extractToDisk(contentHash, extractor);
+        }
+
+        try {
+            // Read one character past the memory limit to learn whether the text is complete;
+            // clamped so asking for everything (Integer.MAX_VALUE) can't overflow
+            int readChars = Math.min(Math.max(maxChars, maxMemoryEntryChars), Integer.MAX_VALUE - 1);
+            String text = readPrefix(partial != null ? partial : file, readChars + 1);
+            boolean complete = text.length() <= readChars;
+            String kept = complete ? text : text.substring(0, readChars);
+            if (partial == null) {
+                putInMemory(contentHash, kept.length() <= maxMemoryEntryChars ? kept : kept.substring(0, maxMemoryEntryChars),
+                    complete && kept.length() <= maxMemoryEntryChars);
+            }
+            return kept.length() > maxChars ? kept.substring(0, maxChars) : kept;
+        } finally {
+            if (partial != null) {
+                Files.deleteIfExists(partial);
+            }
+        }
+    }
+
+    /**
+     * Opens the full text for streaming consumers such as indexing, extracting it on a miss
+     */
+    public Reader openReader(String contentHash, Extractor extractor) throws IOException {
+        Path file = pathFor(contentHash);
+        if (Files.exists(file)) {
+            diskHits.increment();
+            return openReader(file);
+        }
+
+        misses.increment();
+        Path partial = extractToDisk(contentHash, extractor);
+        if (partial == null) {
+            return openReader(file);
+        }
+        try {
+            // Partial text isn't cached; its file goes when the reader closes
+            return new FilterReader(openReader(partial)) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        Files.deleteIfExists(partial);
+                    }
+                }
+            };
+        } catch (IOException e) {
+            Files.deleteIfExists(partial);
+            throw e;
+        }
+    }
+
+    /**
+     * Drops a hash from both tiers
+     */
+    public void invalidate(String contentHash) throws IOException {
+        synchronized (this) {
+            Entry removed = memory.remove(contentHash);
+            if (removed != null) {
+                memoryBytes -= removed.bytes();
+            }
+        }
+        Files.deleteIfExists(pathFor(contentHash));
+    }
+
+    private synchronized String getFromMemory(String contentHash, int maxChars) {
+        Entry entry = memory.get(contentHash);
+        if (entry == null || (!entry.complete && entry.text.length() < maxChars)) {
+            return null;
+        }
+        return entry.text.length() > maxChars ? entry.text.substring(0, maxChars) : entry.text;
+    }
+
+    private synchronized void putInMemory(String contentHash, String text, boolean complete) {
+        Entry entry = new Entry(text, complete);
+        if (entry.bytes() > memoryBudgetBytes) {
+            return;
+        }
+        Entry previous = memory.put(contentHash, entry);
+        if (previous != null) {
+            memoryBytes -= previous.bytes();
+        }
+        memoryBytes += entry.bytes();
+
+        // Evict least recently used entries until back under budget
+        Iterator<Map.Entry<String, Entry>> it = memory.entrySet().iterator();
+        while (memoryBytes > memoryBudgetBytes && it.hasNext()) {
+            Map.Entry<String, Entry> eldest = it.next();
+            memoryBytes -= eldest.getValue().bytes();
+            it.remove();
+            evictions.increment();
+        }
+    }
+
+    /**
+     * Runs the extractor into a temp file and publishes it atomically, once per hash
+     *
+     * @return null once the text is in the cache, or the temp file holding partial
+     *         text, which the caller reads and deletes
+     */
+    private Path extractToDisk(String contentHash, Extractor extractor) throws IOException {
+        Object lock = extractionLocks.computeIfAbsent(contentHash, k -> new Object());
+        try {
+            synchronized (lock) {
+                Path file = pathFor(contentHash);
+                if (Files.exists(file)) {
+                    return null;
+                }
+                Files.createDirectories(directory);
+                Path temp = Files.createTempFile(directory, contentHash, ".part");
+                boolean handedOver = false;
+                try {
+                    Outcome outcome;
+                    try (Writer out = openWriter(temp)) {
+                        outcome = extractor.extract(out);
+                    }
+                    if (outcome == Outcome.PARTIAL) {
+                        handedOver = true;
+                        return temp;
+                    }
+                    if (outcome == Outcome.UNUSABLE) {
+                        // Cache the empty text so the document isn't extracted again on every read
+                        openWriter(temp).close();
+                    }
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    return null;
+                } finally {
+                    if (!handedOver) {
+                        Files.deleteIfExists(temp);
+                    }
+                }
+            }
+        } finally {
+            extractionLocks.remove(contentHash, lock);
+        }
+    }
+
+    private static Writer openWriter(Path file) throws IOException {
+        return new BufferedWriter(new OutputStreamWriter(
+            new GZIPOutputStream(Files.newOutputStream(file), 16 * 1024), StandardCharsets.UTF_8));
+    }
+
+    private static Reader openReader(Path file) throws IOException {
+        return new BufferedReader(new InputStreamReader(
+            new GZIPInputStream(Files.newInputStream(file), 16 * 1024), StandardCharsets.UTF_8));
+    }
+
+    private static String readPrefix(Path file, int maxChars) throws IOException {
+        try (Reader in = new InputStreamReader(new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8)) {
+            char[] buffer = new char[Math.min(maxChars, 64 * 1024)];
+            StringBuilder text = new StringBuilder();
+            int n;
+            while (text.length() < maxChars
+                    && (n = in.read(buffer, 0, Math.min(buffer.length, maxChars - text.length()))) != -1) {
+                text.append(buffer, 0, n);
+            }
+            return text.toString();
+        }
+    }
+
+    private Path pathFor(String contentHash) {
+        return directory.resolve(contentHash + ".txt.gz");
+    }
+
+    public long getMemoryHitCount() {
+        return memoryHits.sum();
+    }
+
+    public long getDiskHitCount() {
+        return diskHits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public synchronized long getMemoryBytes() {
+        return memoryBytes;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("ExtractedTextCache[entries=%d, memory=%d/%d bytes, memoryHits=%d, diskHits=%d, misses=%d, evictions=%d]",
+            memory.size(), memoryBytes, memoryBudgetBytes, getMemoryHitCount(), getDiskHitCount(), getMissCount(), getEvictionCount());
+    }
+
+    /**
+     * Text held in memory; complete is false when only a prefix of a long text is kept
+     */
+    private static class Entry {
+        final String text;
+        final boolean complete;
+
+        Entry(String text, boolean complete) {
+            this.text = text;
+            this.complete = complete;
+        }
+
+        long bytes() {
+            // UTF-16 chars plus rough object overhead
+            return text.length() * 2L + 64;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * GradedSubmission class - One student's graded answers for a course, as logged and stored
+ */
+class GradedSubmission {
+    private final String submissionId;
+    private final String username;
+    private final int courseId;
+    private final long submittedAt;
+    private final int[] quizIds;
+    private final String[] answers;
+    private final int[] scores;
+
+    GradedSubmission(String submissionId, String username, int courseId, long submittedAt,
+                     int[] quizIds, String[] answers, int[] scores) {
+        this.submissionId = submissionId;
+        this.username = username;
+        this.courseId = courseId;
+        this.submittedAt = submittedAt;
+        this.quizIds = quizIds;
+        this.answers = answers;
+        this.scores = scores;
+    }
+
+    public String getSubmissionId() {
+        return submissionId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public int getCourseId() {
+        return courseId;
+    }
+
+    public long getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public int size() {
+        return quizIds.length;
+    }
+
+    public int getQuizId(int i) {
+        return quizIds[i];
+    }
+
+    public String getAnswer(int i) {
+        return answers[i];
+    }
+
+    public int getScore(int i) {
+        return scores[i];
+    }
+
+    public int getCorrectCount() {
+        int correct = 0;
+        for (int score : scores) {
+            correct += score;
+        }
+        return correct;
+    }
+
+    byte[] encode() {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + quizIds.length * 8);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeUTF(submissionId);
+            out.writeUTF(username);
+            out.writeInt(courseId);
+            out.writeLong(submittedAt);
+            out.writeInt(quizIds.length);
+            for (int i = 0; i < quizIds.length; i++) {
+                out.writeInt(quizIds[i]);
+                out.writeByte(answers[i] != null && !answers[i].isEmpty() ? answers[i].charAt(0) : 0);
+                out.writeByte(scores[i]);
+            }
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static GradedSubmission decode(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        String submissionId = in.readUTF();
+        String username = in.readUTF();
+        int courseId = in.readInt();
+        long submittedAt = in.readLong();
+        int count = in.readInt();
+        int[] quizIds = new int[count];
+        String[] answers = new String[count];
+        int[] scores = new int[count];
+        for (int i = 0; i < count; i++) {
+            quizIds[i] = in.readInt();
+            byte answer = in.readByte();
+            answers[i] = answer != 0 ? new String(new byte[]{answer}, StandardCharsets.US_ASCII) : null;
+            scores[i] = in.readByte();
+        }
+        return new GradedSubmission(submissionId, username, courseId, submittedAt, quizIds, answers, scores);
+    }
+}
@@ -0,0 +1,235 @@
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * LMSBenchmark class - Microbenchmarks for the backend hot paths
+ *
+ * A small self-contained harness: each benchmark is warmed up, then run for a
+ * fixed time on the calling thread while every call is timed into a
+ * LatencyHistogram and the thread's allocated bytes are sampled. Reports
+ * throughput, p50/p99/p999 latency and bytes allocated per operation.
+ *
+ * In-memory benchmarks always run. Database benchmarks run when
+ * LMS_BENCH_DB=true, against the database named by LMS_JDBC_URL (or the
+ * usual MYSQL_* settings); point it at a local scratch database, since they
+ * insert submissions.
+ *
+ * Usage: java LMSBenchmark [name-filter ...]
+ * Tuning: LMS_BENCH_WARMUP_MS, LMS_BENCH_MEASURE_MS, LMS_BENCH_OUTPUT (JSON report file)
+ */
+public class LMSBenchmark {
+    /**
+     * One benchmarked operation; the result is consumed so the JIT can't drop the work
+     */
+    interface Operation {
+        Object run() throws Exception;
+    }
+
+    // Written with every result so no benchmarked call is dead code
+    private static volatile int sink;
+
+    private final long warmupMillis;
+    private final long measureMillis;
+    private final List<String> filters;
+    private final List<Map<String, Object>> results = new ArrayList<>();
+
+    LMSBenchmark(long warmupMillis, long measureMillis, List<String> filters) {
+        this.warmupMillis = warmupMillis;
+        this.measureMillis = measureMillis;
+        this.filters = filters;
+    }
+
+    /**
+     * Warms up and measures one operation, printing a result line
+     */
+    void run(String name, Operation operation) throws Exception {
+        if (!filters.isEmpty() && filters.stream().noneMatch(name::contains)) {
+            return;
+        }
+
+        long warmupEnd = System.nanoTime() + warmupMillis * 1_000_000L;
+        while (System.nanoTime() < warmupEnd) {
+            consume(operation.run());
+        }
+
+        LatencyHistogram histogram = new LatencyHistogram();
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        long end = start + measureMillis * 1_000_000L;
+        long operations = 0;
+        long now = start;
+        while (now < end) {
+            Object result = operation.run();
+            long after = System.nanoTime();
+            histogram.record(after - now);
+            consume(result);
+            operations++;
+            now = after;
+        }
+        double seconds = (now - start) / 1e9;
+        long allocated = allocatedBytes() - allocatedBefore;
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("benchmark", name);
+        result.put("operations", operations);
+        result.put("opsPerSecond", operations / seconds);
+        result.put("p50Nanos", histogram.getValueAtPercentile(50));
+        result.put("p99Nanos", histogram.getValueAtPercentile(99));
+        result.put("p999Nanos", histogram.getValueAtPercentile(99.9));
+        result.put("maxNanos", histogram.getMaxNanos());
+        result.put("bytesPerOp", allocated >= 0 ? (double) allocated / operations : null);
+        results.add(result);
+
+        System.out.println(String.format("%-44s %12.1f ops/s  p50 %10s  p99 %10s  p999 %10s  %12s",
+            name, operations / seconds,
+            formatNanos(histogram.getValueAtPercentile(50)),
+            formatNanos(histogram.getValueAtPercentile(99)),
+            formatNanos(histogram.getValueAtPercentile(99.9)),
+            allocated >= 0 ? String.format("%.0f B/op", (double) allocated / operations) : "n/a"));
+    }
+
+    private static void consume(Object result) {
+        sink ^= result == null ? 0 : System.identityHashCode(result);
+    }
+
+    /**
+     * Bytes allocated so far by this thread, or -1 if the JVM can't tell
+     */
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean sunThreads = (com.sun.management.ThreadMXBean) threads;
+            if (sunThreads.isThreadAllocatedMemorySupported() && sunThreads.isThreadAllocatedMemoryEnabled()) {
+                return sunThreads.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+    private static String formatNanos(long nanos) {
+        if (nanos < 10_000) {
+            return nanos + "ns";
+        }
+        if (nanos < 10_000_000) {
+            return String.format("%.1fus", nanos / 1e3);
+        }
+        return String.format("%.1fms", nanos / 1e6);
+    }
+
+    /**
+     * Pure in-memory paths: quiz generation, seeded questions and grading
+     */
+    void runInMemory() throws Exception {
+        QuizFactory factory = new QuizFactory();
+        String text = sampleText(4 * 1024);
+        String largeText = sampleText(1024 * 1024);
+
+        for (String course : new String[]{"Cloud Computing", "OOAD", "Computer Design", "GENAI"}) {
+            run("QuizFactory.createQuizzes[" + course + "]", () -> factory.createQuizzes(text, course, 10));
+        }
+        run("QuizFactory.createQuizzes[default, 1MB]", () -> factory.createQuizzes(largeText, "GENAI", 10));
+
+        run("QuizQuestions.getQuestionsForCourse", () -> QuizQuestions.getQuestionsForCourse("Cloud Computing"));
+        run("QuizQuestions.checksum", QuizQuestions::checksum);
+
+        // Grading a 200-question submission against a cached answer key
+        AnswerKey.Builder keyBuilder = new AnswerKey.Builder();
+        Map<Integer, String> answers = new HashMap<>();
+        Random random = new Random(42);
+        for (int quizId = 1; quizId <= 200; quizId++) {
+            keyBuilder.put(quizId, String.valueOf((char) ('A' + random.nextInt(4))));
+            answers.put(quizId, String.valueOf((char) ('A' + random.nextInt(4))));
+        }
+        AnswerKey answerKey = keyBuilder.build();
+        run("backend.grade[200 answers]", () -> backend.grade("bench", "student", 1, 0L,
+            answers, answerKey, Collections.emptyMap()));
+    }
+
+    /**
+     * Paths that need a database: submission writes with aggregate upkeep, and score reads
+     */
+    void runDatabase() throws Exception {
+        backend model = new backend();
+        try {
+            String course = "OOAD";
+            List<Quiz> quizzes = model.getCourseQuizzes(course);
+            if (quizzes.isEmpty()) {
+                System.err.println("No quizzes for " + course + "; skipping database benchmarks");
+                return;
+            }
+
+            Map<Integer, String> answers = new HashMap<>();
+            for (Quiz quiz : quizzes) {
+                answers.put(quiz.getId(), quiz.getAnswer());
+            }
+            int[] student = {0};
+
+            run("backend.getCourseQuizzes", () -> model.getCourseQuizzes(course));
+            // A rotating set of students, so aggregates see both first and repeat submissions
+            run("backend.submitQuizAnswers", () ->
+                model.submitQuizAnswers("bench-student-" + (student[0]++ % 1000), course, answers));
+            run("backend.getStudentScoresPage[100]", () -> model.getStudentScoresPage(course, null, 100));
+            run("backend.getStudentScoreHistory", () -> model.getStudentScoreHistory("bench-student-1"));
+            run("backend.getStudentScores", () -> model.getStudentScores(course));
+        } finally {
+            model.close();
+        }
+    }
+
+    /**
+     * Writes every result as a JSON array
+     */
+    void writeReport(Path file) throws IOException {
+        Files.write(file, Json.stringify(results).getBytes(StandardCharsets.UTF_8));
+        System.out.println("Wrote " + file);
+    }
+
+    /**
+     * Deterministic pseudo-prose of roughly the given size
+     */
+    private static String sampleText(int chars) {
+        String[] words = {"cloud", "object", "design", "pattern", "virtual", "machine", "cache", "memory",
+            "processor", "pipeline", "class", "interface", "service", "network", "storage", "latency"};
+        Random random = new Random(7);
+        StringBuilder text = new StringBuilder(chars + 32);
+        while (text.length() < chars) {
+            int sentence = 6 + random.nextInt(10);
+            for (int i = 0; i < sentence; i++) {
+                text.append(i == 0 ? "" : " ").append(words[random.nextInt(words.length)]);
+            }
+            text.append(". ");
+        }
+        return text.toString();
+    }
+
+    private static long envLong(String name, long defaultValue) {
+        String value = System.getenv(name);
+        try {
+            return value != null ? Long.parseLong(value.trim()) : defaultValue;
+        } catch (NumberFormatException e) {
+            System.err.println("Ignoring invalid value for " + name + ": " + value);
+            return defaultValue;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LMSBenchmark benchmark = new LMSBenchmark(
+            envLong("LMS_BENCH_WARMUP_MS", 2000),
+            envLong("LMS_BENCH_MEASURE_MS", 5000),
+            Arrays.asList(args)
+        );
+
+        benchmark.runInMemory();
+        if ("true".equalsIgnoreCase(System.getenv("LMS_BENCH_DB"))) {
+            benchmark.runDatabase();
+        }
+
+        String output = System.getenv("LMS_BENCH_OUTPUT");
+        if (output != null) {
+            benchmark.writeReport(Paths.get(output));
+        }
+    }
+}
@@ -0,0 +1,12 @@
+/**
+ * LMSEvent interface - Base type for events published on the LMSEventBus
+ */
+public interface LMSEvent {
+    /**
+     * Events with equal non-null keys coalesce: a newer one replaces one still
+     * queued for a subscriber. Null means every event is delivered.
+     */
+    default Object coalesceKey() {
+        return null;
+    }
+}
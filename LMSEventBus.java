@@ -0,0 +1,190 @@
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * LMSEventBus class - Typed, asynchronous publish/subscribe for UI notifications
+ *
+ * Each subscriber has its own bounded queue and is delivered to on its own
+ * executor (SwingUtilities::invokeLater for the UI), so publishing never runs
+ * listener code and never blocks:
+ * - Coalescing: an event with a coalesce key replaces a queued event with the same key
+ * - Backpressure: a full queue drops its oldest event and counts the drop
+ */
+public class LMSEventBus {
+    // Events delivered per executor task, so a busy subscriber doesn't monopolize the EDT
+    private static final int DELIVERY_BATCH = 64;
+
+    private final CopyOnWriteArrayList<Subscription<?>> subscriptions = new CopyOnWriteArrayList<>();
+    private final LongAdder published = new LongAdder();
+
+    /**
+     * Subscribes to events of a type (and its subtypes)
+     *
+     * @param type          event type to receive
+     * @param executor      where the handler runs
+     * @param handler       called once per delivered event, in publish order
+     * @param queueCapacity events that may wait for this subscriber before the oldest is dropped
+     */
+    public <E extends LMSEvent> Subscription<E> subscribe(Class<E> type, Executor executor,
+                                                          Consumer<? super E> handler, int queueCapacity) {
+        Subscription<E> subscription = new Subscription<>(this, type, executor, handler, queueCapacity);
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    /**
+     * Queues an event for every matching subscriber and returns immediately
+     */
+    public void publish(LMSEvent event) {
+        published.increment();
+        for (Subscription<?> subscription : subscriptions) {
+            if (subscription.type.isInstance(event)) {
+                subscription.offer(event);
+            }
+        }
+    }
+
+    public long getPublishedCount() {
+        return published.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "LMSEventBus[published=" + getPublishedCount() + ", subscriptions=" + subscriptions + "]";
+    }
+
+    /**
+     * One subscriber's queue and delivery state
+     */
+    public static class Subscription<E extends LMSEvent> {
+        private final LMSEventBus bus;
+        private final Class<E> type;
+        private final Executor executor;
+        private final Consumer<? super E> handler;
+        private final int queueCapacity;
+
+        // Queue of slots so a coalesced event can be swapped in place; guarded by "this"
+        private final ArrayDeque<Slot> queue = new ArrayDeque<>();
+        private final Map<Object, Slot> queuedByKey = new HashMap<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private final LongAdder delivered = new LongAdder();
+        private final LongAdder coalesced = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+
+        private Subscription(LMSEventBus bus, Class<E> type, Executor executor,
+                             Consumer<? super E> handler, int queueCapacity) {
+            this.bus = bus;
+            this.type = type;
+            this.executor = executor;
+            this.handler = handler;
+            this.queueCapacity = queueCapacity;
+        }
+
+        private void offer(LMSEvent event) {
+            synchronized (this) {
+                Object key = event.coalesceKey();
+                Slot queued = key != null ? queuedByKey.get(key) : null;
+                if (queued != null) {
+                    queued.event = event;
+                    coalesced.increment();
+                } else {
+                    if (queue.size() >= queueCapacity) {
+                        forget(queue.pollFirst());
+                        dropped.increment();
+                    }
+                    Slot slot = new Slot(event);
+                    queue.addLast(slot);
+                    if (key != null) {
+                        queuedByKey.put(key, slot);
+                    }
+                }
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            for (int i = 0; i < DELIVERY_BATCH; i++) {
+                LMSEvent event;
+                synchronized (this) {
+                    Slot slot = queue.pollFirst();
+                    if (slot == null) {
+                        break;
+                    }
+                    forget(slot);
+                    event = slot.event;
+                }
+                try {
+                    handler.accept(type.cast(event));
+                    delivered.increment();
+                } catch (RuntimeException e) {
+                    System.err.println("Error delivering " + event.getClass().getSimpleName() + ": " + e.getMessage());
+                    e.printStackTrace();
+                }
+            }
+
+            scheduled.set(false);
+            // Events may have arrived after the last poll; make sure someone drains them
+            synchronized (this) {
+                if (queue.isEmpty()) {
+                    return;
+                }
+            }
+            schedule();
+        }
+
+        private void forget(Slot slot) {
+            Object key = slot.event.coalesceKey();
+            if (key != null && queuedByKey.get(key) == slot) {
+                queuedByKey.remove(key);
+            }
+        }
+
+        /**
+         * Stops delivery; events already queued are discarded
+         */
+        public void unsubscribe() {
+            bus.subscriptions.remove(this);
+            synchronized (this) {
+                queue.clear();
+                queuedByKey.clear();
+            }
+        }
+
+        public long getDeliveredCount() {
+            return delivered.sum();
+        }
+
+        public long getCoalescedCount() {
+            return coalesced.sum();
+        }
+
+        public long getDroppedCount() {
+            return dropped.sum();
+        }
+
+        @Override
+        public synchronized String toString() {
+            return String.format("%s[queued=%d, delivered=%d, coalesced=%d, dropped=%d]",
+                type.getSimpleName(), queue.size(), getDeliveredCount(), getCoalescedCount(), getDroppedCount());
+        }
+
+        private static class Slot {
+            LMSEvent event;
+
+            Slot(LMSEvent event) {
+                this.event = event;
+            }
+        }
+    }
+}
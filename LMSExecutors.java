@@ -0,0 +1,77 @@
+import java.lang.reflect.Method;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * LMSExecutors class - Executors for blocking work such as JDBC calls
+ *
+ * Uses a virtual thread per task when the runtime has them (Java 21+), and a
+ * bounded pool of daemon threads otherwise. Set LMS_VIRTUAL_THREADS=false to
+ * always use the bounded pool.
+ */
+public class LMSExecutors {
+    private LMSExecutors() {
+    }
+
+    /**
+     * Returns a virtual-thread-per-task executor when available, otherwise a bounded pool
+     *
+     * @param name          prefix for pool thread names
+     * @param maxThreads    pool size when virtual threads are unavailable
+     * @param queueCapacity tasks that may wait for a pool thread before new ones are rejected
+     */
+    public static ExecutorService newTaskExecutor(String name, int maxThreads, int queueCapacity) {
+        ExecutorService virtual = newVirtualThreadExecutor();
+        return virtual != null ? virtual : newBoundedExecutor(name, maxThreads, queueCapacity);
+    }
+
+    /**
+     * Returns a fixed pool of daemon threads with a bounded queue; excess tasks are rejected
+     */
+    public static ExecutorService newBoundedExecutor(String name, int maxThreads, int queueCapacity) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            maxThreads, maxThreads, 60, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(queueCapacity),
+            r -> {
+                Thread thread = new Thread(r, name + "-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * True when newTaskExecutor will hand out virtual threads
+     */
+    public static boolean virtualThreadsAvailable() {
+        return virtualThreadFactoryMethod() != null;
+    }
+
+    private static ExecutorService newVirtualThreadExecutor() {
+        Method factory = virtualThreadFactoryMethod();
+        if (factory == null) {
+            return null;
+        }
+        try {
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    // Looked up reflectively so the code still compiles and runs on Java 17
+    private static Method virtualThreadFactoryMethod() {
+        if ("false".equalsIgnoreCase(System.getenv("LMS_VIRTUAL_THREADS"))) {
+            return null;
+        }
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
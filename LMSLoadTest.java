@@ -0,0 +1,369 @@
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LMSLoadTest class - Headless load generator simulating a class taking a quiz
+ *
+ * Each virtual student logs in, fetches the course's quizzes, thinks for a
+ * while and submits answers; meanwhile virtual professors log in and poll the
+ * course's scores until every student is done. Each client runs on its own
+ * LMSExecutors thread (virtual when the runtime has them), so a few thousand
+ * students cost little more than their sockets. Calls go straight to backend,
+ * which is what the controller and HTTP API sit on.
+ *
+ * Reports throughput, p50/p99/p999 latency and error rate per operation to
+ * the console and as JSON to LMS_LOAD_OUTPUT. A submission counts as an
+ * error if the returned score differs from the one computed from the quiz
+ * answers the student was given.
+ *
+ * Tuning: LMS_LOAD_STUDENTS, LMS_LOAD_PROFESSORS, LMS_LOAD_COURSE,
+ * LMS_LOAD_THINK_MS, LMS_LOAD_RAMP_MS, LMS_LOAD_ROUNDS, LMS_LOAD_POLL_MS,
+ * LMS_LOAD_ACCURACY (percent of answers students get right), LMS_LOAD_OUTPUT
+ */
+public class LMSLoadTest {
+    /**
+     * The operations a virtual user performs; backend is the real implementation
+     */
+    interface Target {
+        String loginUser(String username, String password);
+
+        boolean registerUser(String username, String password, String userType);
+
+        List<Quiz> getCourseQuizzes(String courseName);
+
+        OptionalInt submitQuizAnswers(String username, String courseName, Map<Integer, String> answers);
+
+        List<String[]> getStudentScores(String courseName);
+    }
+
+    static final String LOGIN = "login";
+    static final String GET_QUIZZES = "getCourseQuizzes";
+    static final String SUBMIT = "submitQuizAnswers";
+    static final String GET_SCORES = "getStudentScores";
+
+    private static final String PASSWORD = "load-test";
+
+    private final Target target;
+    private final int students;
+    private final int professors;
+    private final String course;
+    private final int thinkMillis;
+    private final int rampMillis;
+    private final int rounds;
+    private final int pollMillis;
+    private final int accuracy;
+
+    // Insertion ordered so the report lists operations in the order a student performs them
+    private final Map<String, OperationStats> stats = new LinkedHashMap<>();
+    private final AtomicInteger studentsFinished = new AtomicInteger();
+    private long elapsedNanos;
+
+    LMSLoadTest(Target target, int students, int professors, String course, int thinkMillis,
+                int rampMillis, int rounds, int pollMillis, int accuracy) {
+        this.target = target;
+        this.students = students;
+        this.professors = professors;
+        this.course = course;
+        this.thinkMillis = thinkMillis;
+        this.rampMillis = rampMillis;
+        this.rounds = rounds;
+        this.pollMillis = pollMillis;
+        this.accuracy = accuracy;
+        for (String operation : new String[]{LOGIN, GET_QUIZZES, SUBMIT, GET_SCORES}) {
+            stats.put(operation, new OperationStats(operation));
+        }
+    }
+
+    /**
+     * Registers the virtual users, runs every client to completion and returns the report
+     */
+    Map<String, Object> run() throws InterruptedException {
+        // Setup isn't measured; registration fails harmlessly for users left by an earlier run
+        for (int i = 0; i < students; i++) {
+            target.registerUser(studentName(i), PASSWORD, "Student");
+        }
+        for (int i = 0; i < professors; i++) {
+            target.registerUser(professorName(i), PASSWORD, "Professor");
+        }
+
+        ExecutorService clients = LMSExecutors.newTaskExecutor("lms-load", students + professors, 1);
+        List<Future<?>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+        try {
+            for (int i = 0; i < professors; i++) {
+                int professor = i;
+                futures.add(clients.submit(() -> runProfessor(professor)));
+            }
+            for (int i = 0; i < students; i++) {
+                int student = i;
+                futures.add(clients.submit(() -> runStudent(student)));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    System.err.println("Error in virtual user: " + e.getCause());
+                    e.getCause().printStackTrace();
+                }
+            }
+        } finally {
+            elapsedNanos = System.nanoTime() - start;
+            clients.shutdownNow();
+        }
+        return report();
+    }
+
+    private void runStudent(int student) {
+        String username = studentName(student);
+        Random random = new Random(student);
+        try {
+            // Spread logins over the ramp so the class doesn't arrive in a single instant
+            if (rampMillis > 0) {
+                Thread.sleep(random.nextInt(rampMillis));
+            }
+            String userType = time(LOGIN, () -> target.loginUser(username, PASSWORD), "Student"::equals);
+            if (userType == null) {
+                return;
+            }
+
+            for (int round = 0; round < rounds; round++) {
+                List<Quiz> quizzes = time(GET_QUIZZES, () -> target.getCourseQuizzes(course),
+                    result -> result != null && !result.isEmpty());
+                if (quizzes == null || quizzes.isEmpty()) {
+                    return;
+                }
+
+                Map<Integer, String> answers = new HashMap<>();
+                int correct = 0;
+                for (Quiz quiz : quizzes) {
+                    if (random.nextInt(100) < accuracy) {
+                        answers.put(quiz.getId(), quiz.getAnswer());
+                        correct++;
+                    } else {
+                        answers.put(quiz.getId(), wrongAnswer(quiz.getAnswer(), random));
+                    }
+                }
+                int expectedScore = correct * 100 / answers.size();
+
+                // Think times vary from half to one and a half times the configured mean
+                if (thinkMillis > 0) {
+                    Thread.sleep(thinkMillis / 2 + random.nextInt(thinkMillis + 1));
+                }
+                time(SUBMIT, () -> target.submitQuizAnswers(username, course, answers),
+                    score -> score.isPresent() && score.getAsInt() == expectedScore);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            studentsFinished.incrementAndGet();
+        }
+    }
+
+    private void runProfessor(int professor) {
+        String username = professorName(professor);
+        try {
+            String userType = time(LOGIN, () -> target.loginUser(username, PASSWORD), "Professor"::equals);
+            if (userType == null) {
+                return;
+            }
+            while (studentsFinished.get() < students) {
+                time(GET_SCORES, () -> target.getStudentScores(course), Objects::nonNull);
+                Thread.sleep(pollMillis);
+            }
+            // One last look once every submission is in
+            time(GET_SCORES, () -> target.getStudentScores(course), Objects::nonNull);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Times one call; a result failing the check or a thrown exception counts as an error
+     */
+    private <T> T time(String operation, Callable<T> call, java.util.function.Predicate<T> check) {
+        OperationStats operationStats = stats.get(operation);
+        long start = System.nanoTime();
+        try {
+            T result = call.call();
+            operationStats.record(System.nanoTime() - start, check.test(result));
+            return result;
+        } catch (Exception e) {
+            operationStats.record(System.nanoTime() - start, false);
+            System.err.println("Error in " + operation + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static String wrongAnswer(String answer, Random random) {
+        char correct = answer == null || answer.isEmpty() ? 'A' : Character.toUpperCase(answer.charAt(0));
+        char wrong = (char) ('A' + random.nextInt(3));
+        return String.valueOf(wrong >= correct ? (char) (wrong + 1) : wrong);
+    }
+
+    private static String studentName(int student) {
+        return "load-student-" + student;
+    }
+
+    private static String professorName(int professor) {
+        return "load-professor-" + professor;
+    }
+
+    private Map<String, Object> report() {
+        double seconds = elapsedNanos / 1e9;
+
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("students", students);
+        config.put("professors", professors);
+        config.put("course", course);
+        config.put("thinkMillis", thinkMillis);
+        config.put("rampMillis", rampMillis);
+        config.put("rounds", rounds);
+        config.put("pollMillis", pollMillis);
+        config.put("accuracyPercent", accuracy);
+        config.put("virtualThreads", LMSExecutors.virtualThreadsAvailable());
+
+        List<Map<String, Object>> operations = new ArrayList<>();
+        for (OperationStats operationStats : stats.values()) {
+            operations.add(operationStats.toMap(seconds));
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("durationSeconds", seconds);
+        report.put("config", config);
+        report.put("operations", operations);
+        return report;
+    }
+
+    private void printReport() {
+        double seconds = elapsedNanos / 1e9;
+        System.out.println(String.format("%d students, %d professors on %s in %.1fs",
+            students, professors, course, seconds));
+        System.out.println(String.format("%-18s %8s %8s %10s %10s %10s %10s %10s",
+            "operation", "calls", "errors", "ops/s", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+        for (OperationStats operationStats : stats.values()) {
+            LatencyHistogram histogram = operationStats.histogram;
+            System.out.println(String.format("%-18s %8d %8d %10.1f %10.2f %10.2f %10.2f %10.2f",
+                operationStats.name, histogram.getCount(), operationStats.errors.sum(),
+                histogram.getCount() / seconds,
+                histogram.getValueAtPercentile(50) / 1e6, histogram.getValueAtPercentile(99) / 1e6,
+                histogram.getValueAtPercentile(99.9) / 1e6, histogram.getMaxNanos() / 1e6));
+        }
+    }
+
+    private static int envInt(String name, int defaultValue) {
+        String value = System.getenv(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            System.err.println("Ignoring invalid value for " + name + ": " + value);
+            return defaultValue;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        backend model = new backend();
+        Target target = new Target() {
+            @Override
+            public String loginUser(String username, String password) {
+                return model.loginUser(username, password);
+            }
+
+            @Override
+            public boolean registerUser(String username, String password, String userType) {
+                return model.registerUser(username, password, userType);
+            }
+
+            @Override
+            public List<Quiz> getCourseQuizzes(String courseName) {
+                return model.getCourseQuizzes(courseName);
+            }
+
+            @Override
+            public OptionalInt submitQuizAnswers(String username, String courseName, Map<Integer, String> answers) {
+                return model.submitQuizAnswers(username, courseName, answers);
+            }
+
+            @Override
+            public List<String[]> getStudentScores(String courseName) {
+                return model.getStudentScores(courseName);
+            }
+        };
+
+        try {
+            LMSLoadTest loadTest = new LMSLoadTest(
+                target,
+                envInt("LMS_LOAD_STUDENTS", 200),
+                envInt("LMS_LOAD_PROFESSORS", 2),
+                Optional.ofNullable(System.getenv("LMS_LOAD_COURSE")).orElse("OOAD"),
+                envInt("LMS_LOAD_THINK_MS", 5000),
+                envInt("LMS_LOAD_RAMP_MS", 2000),
+                envInt("LMS_LOAD_ROUNDS", 1),
+                envInt("LMS_LOAD_POLL_MS", 1000),
+                envInt("LMS_LOAD_ACCURACY", 70)
+            );
+            Map<String, Object> report = loadTest.run();
+            loadTest.printReport();
+
+            Path output = Paths.get(Optional.ofNullable(System.getenv("LMS_LOAD_OUTPUT")).orElse("load-report.json"));
+            writeReport(output, report);
+        } finally {
+            model.close();
+        }
+    }
+
+    private static void writeReport(Path output, Map<String, Object> report) {
+        try {
+            Files.write(output, Json.stringify(report).getBytes(StandardCharsets.UTF_8));
+            System.out.println("Wrote " + output);
+        } catch (IOException e) {
+            System.err.println("Error writing load report: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+}
+
+/**
+ * OperationStats class - Latency and error counts for one load-test operation
+ */
+class OperationStats {
+    final String name;
+    final LatencyHistogram histogram = new LatencyHistogram();
+    final LongAdder errors = new LongAdder();
+
+    OperationStats(String name) {
+        this.name = name;
+    }
+
+    void record(long nanos, boolean ok) {
+        histogram.record(nanos);
+        if (!ok) {
+            errors.increment();
+        }
+    }
+
+    Map<String, Object> toMap(double seconds) {
+        long calls = histogram.getCount();
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("operation", name);
+        map.put("calls", calls);
+        map.put("errors", errors.sum());
+        map.put("errorRate", calls == 0 ? 0.0 : (double) errors.sum() / calls);
+        map.put("opsPerSecond", seconds > 0 ? calls / seconds : 0.0);
+        map.put("meanMillis", histogram.getMeanNanos() / 1e6);
+        map.put("p50Millis", histogram.getValueAtPercentile(50) / 1e6);
+        map.put("p99Millis", histogram.getValueAtPercentile(99) / 1e6);
+        map.put("p999Millis", histogram.getValueAtPercentile(99.9) / 1e6);
+        map.put("maxMillis", histogram.getMaxNanos() / 1e6);
+        return map;
+    }
+}
@@ -0,0 +1,486 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LMSServer class - Headless JSON API over the LMS backend
+ *
+ * Built on the JDK's HTTP server. Each request runs on its own virtual thread
+ * when the runtime has them, otherwise on a bounded pool; either way database
+ * access goes through backend's shared connection pool.
+ *
+ * POST /api/login returns a session token; the endpoints marked (auth) take it as
+ * "Authorization: Bearer <token>", so the password is only verified once per session.
+ *
+ * Endpoints:
+ * - POST /api/login                            {"username", "password"}
+ * - POST /api/logout                           (auth)
+ * - POST /api/register                         {"username", "password", "userType"}; (auth, professors) for a Professor
+ * - GET  /api/courses
+ * - GET  /api/courses/{course}/materials
+ * - GET  /api/courses/{course}/quizzes         questions and options, never answers
+ * - POST /api/courses/{course}/submissions     (auth) {"answers": {"quizId": "A"}}
+ * - GET  /api/courses/{course}/scores          (auth, professors) ?after=username&limit=n
+ * - GET  /api/users/{username}/scores          (auth, that student or a professor)
+ * - GET  /api/health
+ * - GET  /api/metrics                          (auth, professors, unless from localhost) per-operation
+ *                                              backend metrics and per-statement JDBC timings;
+ *                                              ?format=text for operations as text exposition
+ */
+public class LMSServer {
+    // Largest request body accepted
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    // Returned by handlers that have already sent their own response
+    private static final Object SENT = new Object();
+
+    private final backend model;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    public LMSServer(backend model, int port) throws IOException {
+        this.model = model;
+        this.server = HttpServer.create(new InetSocketAddress(port), envInt("LMS_HTTP_BACKLOG", 256));
+        this.executor = LMSExecutors.newTaskExecutor("lms-http",
+            envInt("LMS_HTTP_THREADS", 64), envInt("LMS_HTTP_QUEUE_CAPACITY", 1000));
+        server.setExecutor(executor);
+        server.createContext("/api/", this::handle);
+    }
+
+    public void start() {
+        server.start();
+        System.out.println("LMS API listening on port " + server.getAddress().getPort()
+            + (LMSExecutors.virtualThreadsAvailable() ? " (virtual threads)" : " (thread pool)"));
+    }
+
+    /**
+     * Stops accepting requests, giving in-flight ones a moment to finish
+     */
+    public void stop() {
+        server.stop(1);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            Object result = route(exchange);
+            if (result != SENT) {
+                sendJson(exchange, 200, result);
+            }
+        } catch (ApiException e) {
+            Map<String, Object> error = new LinkedHashMap<>();
+            error.put("error", e.getMessage());
+            sendJson(exchange, e.status, error);
+        } catch (Exception e) {
+            System.err.println("Error handling " + exchange.getRequestMethod() + " " + exchange.getRequestURI() + ": " + e.getMessage());
+            e.printStackTrace();
+            Map<String, Object> error = new LinkedHashMap<>();
+            error.put("error", "Internal server error");
+            sendJson(exchange, 500, error);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Dispatches on method and path; returns the JSON response body
+     */
+    private Object route(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        // getPath() is already percent-decoded, so course names may contain spaces
+        List<String> path = new ArrayList<>();
+        for (String segment : exchange.getRequestURI().getPath().split("/")) {
+            if (!segment.isEmpty()) {
+                path.add(segment);
+            }
+        }
+        // path.get(0) is "api"
+        int size = path.size();
+
+        if (size == 2 && path.get(1).equals("health")) {
+            requireMethod(method, "GET");
+            return Collections.singletonMap("status", "ok");
+        }
+        if (size == 2 && path.get(1).equals("metrics")) {
+            requireMethod(method, "GET");
+            // Scrapers on the same host need no token; anyone else must be a professor
+            if (!exchange.getRemoteAddress().getAddress().isLoopbackAddress()) {
+                requireProfessor(requireSession(exchange));
+            }
+            return metrics(exchange, queryParameters(exchange));
+        }
+        if (size == 2 && path.get(1).equals("login")) {
+            requireMethod(method, "POST");
+            return login(readBody(exchange));
+        }
+        if (size == 2 && path.get(1).equals("logout")) {
+            requireMethod(method, "POST");
+            model.endSession(requireSession(exchange).getToken());
+            return Collections.singletonMap("status", "logged out");
+        }
+        if (size == 2 && path.get(1).equals("register")) {
+            requireMethod(method, "POST");
+            return register(exchange, readBody(exchange));
+        }
+        if (size == 2 && path.get(1).equals("courses")) {
+            requireMethod(method, "GET");
+            return Collections.singletonMap("courses", model.getCourses());
+        }
+        if (size == 4 && path.get(1).equals("courses")) {
+            String course = path.get(2);
+            switch (path.get(3)) {
+                case "materials":
+                    requireMethod(method, "GET");
+                    return materials(course);
+                case "quizzes":
+                    requireMethod(method, "GET");
+                    return quizzes(exchange, course);
+                case "submissions":
+                    requireMethod(method, "POST");
+                    return submit(requireSession(exchange), course, readBody(exchange));
+                case "scores":
+                    requireMethod(method, "GET");
+                    requireProfessor(requireSession(exchange));
+                    return courseScores(course, queryParameters(exchange));
+                default:
+                    break;
+            }
+        }
+        if (size == 4 && path.get(1).equals("users") && path.get(3).equals("scores")) {
+            requireMethod(method, "GET");
+            String username = path.get(2);
+            Session session = requireSession(exchange);
+            if (!session.getUsername().equals(username)) {
+                requireProfessor(session);
+            }
+            return Collections.singletonMap("scores", scoreRows(model.getStudentScoreHistory(username), "course"));
+        }
+        throw new ApiException(404, "Not found");
+    }
+
+    /**
+     * Serves backend.getMetrics() as JSON, or as text exposition for scrapers
+     */
+    private Object metrics(HttpExchange exchange, Map<String, String> query) throws IOException {
+        MetricsRegistry metrics = backend.getMetrics();
+        if ("text".equals(query.get("format"))) {
+            byte[] bytes = metrics.toText().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+            return SENT;
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("operations", metrics.snapshot());
+        ConnectionPool pool = backend.getConnectionPool();
+        if (pool != null) {
+            Map<String, Object> statementCache = new LinkedHashMap<>();
+            statementCache.put("sizePerConnection", pool.getStatementCacheSize());
+            statementCache.put("hits", pool.getStatementCacheHits());
+            statementCache.put("misses", pool.getStatementCacheMisses());
+            statementCache.put("evictions", pool.getStatementCacheEvictions());
+            statementCache.put("hitRate", pool.getStatementCacheHitRate());
+            result.put("statementCache", statementCache);
+        }
+        QueryStats queryStats = pool != null ? pool.getQueryStats() : null;
+        if (queryStats != null) {
+            result.put("slowStatements", queryStats.getSlowCount());
+            result.put("statements", queryStats.snapshot());
+        }
+        return result;
+    }
+
+    private Object login(Map<String, Object> body) {
+        String username = requireString(body, "username");
+        Session session = model.createSession(username, requireString(body, "password"));
+        if (session == null) {
+            throw new ApiException(401, "Invalid credentials");
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("username", username);
+        result.put("userType", session.getUserType());
+        result.put("token", session.getToken());
+        result.put("expiresAt", session.getExpiresAt());
+        return result;
+    }
+
+    private Object register(HttpExchange exchange, Map<String, Object> body) throws IOException {
+        String username = requireString(body, "username");
+        String userType = requireString(body, "userType");
+        if (!userType.equals("Professor") && !userType.equals("Student")) {
+            throw new ApiException(400, "userType must be Professor or Student");
+        }
+        // Otherwise anyone could make themselves a professor and read every student's scores
+        if (userType.equals("Professor")) {
+            requireProfessor(requireSession(exchange));
+        }
+        if (!model.registerUser(username, requireString(body, "password"), userType)) {
+            throw new ApiException(409, "Registration failed; the username may already exist");
+        }
+        sendJson(exchange, 201, Collections.singletonMap("username", username));
+        return SENT;
+    }
+
+    private Object materials(String course) {
+        List<Map<String, Object>> materials = new ArrayList<>();
+        for (String[] material : model.getCourseMaterials(course)) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("id", Integer.parseInt(material[2]));
+            item.put("fileName", material[0]);
+            materials.add(item);
+        }
+        return Collections.singletonMap("materials", materials);
+    }
+
+    /**
+     * Serves a course's quiz snapshot; its content hash doubles as an ETag so
+     * clients polling an unchanged course get an empty 304, from any server
+     */
+    private Object quizzes(HttpExchange exchange, String course) throws IOException {
+        QuizSet quizSet = model.getCourseQuizSet(course);
+        if (quizSet == null) {
+            throw new ApiException(404, "Unknown course " + course);
+        }
+
+        String etag = "\"" + quizSet.getContentHash() + "\"";
+        exchange.getResponseHeaders().set("ETag", etag);
+        if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            exchange.sendResponseHeaders(304, -1);
+            return SENT;
+        }
+
+        List<Map<String, Object>> quizzes = new ArrayList<>();
+        for (Quiz quiz : quizSet.getQuizzes()) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("id", quiz.getId());
+            item.put("question", quiz.getQuestion());
+            item.put("options", quiz.getOptions());
+            quizzes.add(item);
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("course", course);
+        result.put("quizzes", quizzes);
+        return result;
+    }
+
+    private Object submit(Session session, String course, Map<String, Object> body) {
+        // Students submit as themselves; a username in the body, if any, must agree
+        String username = session.getUsername();
+        if (body.containsKey("username") && !username.equals(body.get("username"))) {
+            throw new ApiException(403, "Cannot submit answers for another user");
+        }
+        Object rawAnswers = body.get("answers");
+        if (!(rawAnswers instanceof Map) || ((Map<?, ?>) rawAnswers).isEmpty()) {
+            throw new ApiException(400, "answers must be a non-empty object of quiz id to option");
+        }
+
+        QuizSet quizSet = model.getCourseQuizSet(course);
+        if (quizSet == null) {
+            throw new ApiException(404, "Unknown course " + course);
+        }
+        Set<Integer> courseQuizIds = new HashSet<>();
+        for (Quiz quiz : quizSet.getQuizzes()) {
+            courseQuizIds.add(quiz.getId());
+        }
+
+        Map<Integer, String> answers = new HashMap<>();
+        for (Map.Entry<?, ?> entry : ((Map<?, ?>) rawAnswers).entrySet()) {
+            String answer = entry.getValue() instanceof String ? (String) entry.getValue() : null;
+            if (answer == null || !answer.matches("[A-D]")) {
+                throw new ApiException(400, "Answer for quiz " + entry.getKey() + " must be A, B, C or D");
+            }
+            int quizId;
+            try {
+                quizId = Integer.parseInt(String.valueOf(entry.getKey()));
+            } catch (NumberFormatException e) {
+                throw new ApiException(400, "Bad quiz id " + entry.getKey());
+            }
+            if (!courseQuizIds.contains(quizId)) {
+                throw new ApiException(400, "Quiz " + quizId + " is not part of " + course);
+            }
+            answers.put(quizId, answer);
+        }
+
+        OptionalInt score = model.submitQuizAnswers(username, course, answers);
+        if (!score.isPresent()) {
+            // The request was already validated, so this is a storage failure
+            throw new ApiException(500, "Could not save the submission");
+        }
+        return Collections.singletonMap("score", score.getAsInt());
+    }
+
+    private Object courseScores(String course, Map<String, String> query) {
+        int limit = DEFAULT_PAGE_SIZE;
+        if (query.containsKey("limit")) {
+            try {
+                limit = Math.max(1, Math.min(MAX_PAGE_SIZE, Integer.parseInt(query.get("limit"))));
+            } catch (NumberFormatException e) {
+                throw new ApiException(400, "limit must be a number");
+            }
+        }
+
+        List<String[]> page = model.getStudentScoresPage(course, query.get("after"), limit);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("scores", scoreRows(page, "username"));
+        // Cursor for the next page, or null once the last page is reached
+        result.put("next", page.size() == limit ? page.get(page.size() - 1)[0] : null);
+        return result;
+    }
+
+    private static List<Map<String, Object>> scoreRows(List<String[]> rows, String nameField) {
+        List<Map<String, Object>> scores = new ArrayList<>();
+        for (String[] row : rows) {
+            Map<String, Object> score = new LinkedHashMap<>();
+            score.put(nameField, row[0]);
+            score.put("score", row[2]);
+            score.put("percentage", row[3]);
+            score.put("latestSubmission", row[4]);
+            scores.add(score);
+        }
+        return scores;
+    }
+
+    /**
+     * Resolves the bearer token to a live session; no password verification happens here
+     */
+    private Session requireSession(HttpExchange exchange) {
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        String token = authorization != null && authorization.regionMatches(true, 0, "Bearer ", 0, 7)
+            ? authorization.substring(7).trim() : null;
+        Session session = model.getSession(token);
+        if (session == null) {
+            exchange.getResponseHeaders().set("WWW-Authenticate", "Bearer");
+            throw new ApiException(401, token == null ? "Missing bearer token" : "Session expired, please log in again");
+        }
+        return session;
+    }
+
+    private static void requireProfessor(Session session) {
+        if (!"Professor".equals(session.getUserType())) {
+            throw new ApiException(403, "Professors only");
+        }
+    }
+
+    private static void requireMethod(String method, String expected) {
+        if (!method.equals(expected)) {
+            throw new ApiException(405, "Use " + expected);
+        }
+    }
+
+    private static String requireString(Map<String, Object> body, String field) {
+        Object value = body.get(field);
+        if (!(value instanceof String) || ((String) value).isEmpty()) {
+            throw new ApiException(400, field + " is required");
+        }
+        return (String) value;
+    }
+
+    private static Map<String, Object> readBody(HttpExchange exchange) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] buffer = new byte[8192];
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                if (body.size() + n > MAX_BODY_BYTES) {
+                    throw new ApiException(413, "Request body too large");
+                }
+                body.write(buffer, 0, n);
+            }
+        }
+        try {
+            return Json.parseObject(body.toString(StandardCharsets.UTF_8.name()));
+        } catch (IllegalArgumentException e) {
+            throw new ApiException(400, "Invalid JSON: " + e.getMessage());
+        }
+    }
+
+    private static Map<String, String> queryParameters(HttpExchange exchange) {
+        Map<String, String> parameters = new HashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return parameters;
+        }
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            String name = eq >= 0 ? pair.substring(0, eq) : pair;
+            String value = eq >= 0 ? pair.substring(eq + 1) : "";
+            try {
+                parameters.put(URLDecoder.decode(name, "UTF-8"), URLDecoder.decode(value, "UTF-8"));
+            } catch (UnsupportedEncodingException | IllegalArgumentException e) {
+                throw new ApiException(400, "Bad query string");
+            }
+        }
+        return parameters;
+    }
+
+    private static void sendJson(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = Json.stringify(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static int envInt(String name, int defaultValue) {
+        String value = System.getenv(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            System.err.println("Ignoring invalid value for " + name + ": " + value);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Request failure with the HTTP status to report
+     */
+    private static class ApiException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        final int status;
+
+        ApiException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    /**
+     * Starts the API server; the port comes from LMS_HTTP_PORT (default 8080)
+     */
+    public static void main(String[] args) throws IOException {
+        backend model = new backend();
+        LMSServer server = new LMSServer(model, envInt("LMS_HTTP_PORT", 8080));
+        server.start();
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop();
+            model.close();
+        }, "lms-shutdown"));
+    }
+}
@@ -0,0 +1,106 @@
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * MetricsRegistry class - Per-operation call, error, row and latency counters
+ *
+ * Each named operation gets an OperationMetrics that is looked up once and
+ * kept in a field, so recording a call is a few LongAdder increments and a
+ * LatencyHistogram update with no locks or map lookups. Snapshots export as
+ * a Prometheus-style text exposition or as JSON-ready maps.
+ */
+public class MetricsRegistry {
+    // Percentiles exported for every latency histogram, with their exposition labels
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    private static final String[] QUANTILE_LABELS = {"0.5", "0.9", "0.99", "0.999"};
+
+    private final String prefix;
+    private final Map<String, OperationMetrics> operations = new ConcurrentHashMap<>();
+
+    /**
+     * @param prefix metric name prefix in the text exposition, e.g. "lms_backend"
+     */
+    public MetricsRegistry(String prefix) {
+        this.prefix = prefix;
+    }
+
+    /**
+     * Returns the metrics for an operation, creating them on first use
+     */
+    public OperationMetrics operation(String name) {
+        return operations.computeIfAbsent(name, OperationMetrics::new);
+    }
+
+    /**
+     * Clears every operation's counters, e.g. between load-test runs
+     */
+    public void reset() {
+        for (OperationMetrics metrics : operations.values()) {
+            metrics.reset();
+        }
+    }
+
+    /**
+     * One map per operation, sorted by name, with calls, errors, rows and latency percentiles
+     */
+    public List<Map<String, Object>> snapshot() {
+        List<Map<String, Object>> snapshot = new ArrayList<>();
+        for (OperationMetrics metrics : sortedOperations()) {
+            snapshot.add(metrics.toMap());
+        }
+        return snapshot;
+    }
+
+    /**
+     * Prometheus-style text exposition; latencies are a summary in seconds
+     */
+    public String toText() {
+        List<OperationMetrics> sorted = sortedOperations();
+        StringBuilder out = new StringBuilder();
+
+        appendCounter(out, sorted, "calls_total", "Calls started", OperationMetrics::getCalls);
+        appendCounter(out, sorted, "errors_total", "Calls that failed", OperationMetrics::getErrors);
+        appendCounter(out, sorted, "rows_total", "Rows read or written", OperationMetrics::getRows);
+        appendCounter(out, sorted, "in_flight", "Calls currently running", OperationMetrics::getInFlight);
+
+        String latency = prefix + "_latency_seconds";
+        out.append("# HELP ").append(latency).append(" Call latency\n");
+        out.append("# TYPE ").append(latency).append(" summary\n");
+        for (OperationMetrics metrics : sorted) {
+            LatencyHistogram histogram = metrics.getLatency();
+            String label = "operation=\"" + escape(metrics.getName()) + "\"";
+            for (int i = 0; i < PERCENTILES.length; i++) {
+                out.append(latency).append('{').append(label)
+                    .append(",quantile=\"").append(QUANTILE_LABELS[i]).append("\"} ")
+                    .append(histogram.getValueAtPercentile(PERCENTILES[i]) / 1e9).append('\n');
+            }
+            out.append(latency).append("_sum{").append(label).append("} ")
+                .append(histogram.getTotalNanos() / 1e9).append('\n');
+            out.append(latency).append("_count{").append(label).append("} ")
+                .append(histogram.getCount()).append('\n');
+        }
+        return out.toString();
+    }
+
+    private void appendCounter(StringBuilder out, List<OperationMetrics> sorted, String suffix, String help,
+                               java.util.function.ToLongFunction<OperationMetrics> value) {
+        String name = prefix + "_" + suffix;
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(suffix.endsWith("_total") ? " counter\n" : " gauge\n");
+        for (OperationMetrics metrics : sorted) {
+            out.append(name).append("{operation=\"").append(escape(metrics.getName())).append("\"} ")
+                .append(value.applyAsLong(metrics)).append('\n');
+        }
+    }
+
+    private List<OperationMetrics> sortedOperations() {
+        List<OperationMetrics> sorted = new ArrayList<>(operations.values());
+        sorted.sort(Comparator.comparing(OperationMetrics::getName));
+        return sorted;
+    }
+
+    private static String escape(String label) {
+        return label.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
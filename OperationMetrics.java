@@ -0,0 +1,126 @@
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * OperationMetrics class - Lock-free counters and latency histogram for one operation
+ *
+ * Usage:
+ *   OperationMetrics.Call call = metrics.begin();
+ *   try { ...; call.rows(n); } catch (SQLException e) { call.fail(); ... } finally { call.end(); }
+ */
+class OperationMetrics {
+    private final String name;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder inFlight = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    OperationMetrics(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Starts timing one call; end() must follow, normally in a finally block
+     */
+    Call begin() {
+        calls.increment();
+        inFlight.increment();
+        return new Call(this, System.nanoTime());
+    }
+
+    String getName() {
+        return name;
+    }
+
+    long getCalls() {
+        return calls.sum();
+    }
+
+    long getErrors() {
+        return errors.sum();
+    }
+
+    long getRows() {
+        return rows.sum();
+    }
+
+    long getInFlight() {
+        return inFlight.sum();
+    }
+
+    LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    void reset() {
+        calls.reset();
+        errors.reset();
+        rows.reset();
+        latency.reset();
+    }
+
+    Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("operation", name);
+        map.put("calls", getCalls());
+        map.put("errors", getErrors());
+        map.put("rows", getRows());
+        map.put("inFlight", getInFlight());
+        map.put("meanMillis", latency.getMeanNanos() / 1e6);
+        map.put("p50Millis", latency.getValueAtPercentile(50) / 1e6);
+        map.put("p90Millis", latency.getValueAtPercentile(90) / 1e6);
+        map.put("p99Millis", latency.getValueAtPercentile(99) / 1e6);
+        map.put("p999Millis", latency.getValueAtPercentile(99.9) / 1e6);
+        map.put("maxMillis", latency.getMaxNanos() / 1e6);
+        return map;
+    }
+
+    /**
+     * One timed call; owned by a single thread
+     */
+    static final class Call {
+        private final OperationMetrics metrics;
+        private final long startNanos;
+        private long rows;
+        private boolean failed;
+        private boolean ended;
+
+        private Call(OperationMetrics metrics, long startNanos) {
+            this.metrics = metrics;
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * Adds to the rows this call read or wrote
+         */
+        void rows(long count) {
+            rows += count;
+        }
+
+        /**
+         * Marks the call as failed; it is still timed
+         */
+        void fail() {
+            failed = true;
+        }
+
+        /**
+         * Records the call; later calls are ignored
+         */
+        void end() {
+            if (ended) {
+                return;
+            }
+            ended = true;
+            metrics.latency.record(System.nanoTime() - startNanos);
+            metrics.inFlight.decrement();
+            if (rows != 0) {
+                metrics.rows.add(rows);
+            }
+            if (failed) {
+                metrics.errors.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,157 @@
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.*;
+
+/**
+ * PasswordHasher class - Salted PBKDF2 password hashes, computed on a bounded pool
+ *
+ * Stored form: pbkdf2$iterations$salt$hash (salt and hash in base64). The
+ * iteration count is the adaptive cost: raising LMS_PASSWORD_ITERATIONS makes
+ * new hashes slower, and older, cheaper hashes are replaced the next time
+ * their owner logs in. Values without the pbkdf2$ prefix are legacy plaintext
+ * passwords; they still verify, and are replaced the same way.
+ *
+ * Hashing is deliberately CPU-heavy, so it runs on its own small pool of
+ * platform threads with a bounded queue. When a login storm fills the queue,
+ * further requests are rejected straight away instead of piling up behind it.
+ */
+public class PasswordHasher {
+    static final String PREFIX = "pbkdf2$";
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+
+    private final int iterations;
+    private final ExecutorService workers;
+    private final SecureRandom random = new SecureRandom();
+
+    // Verified against when the user doesn't exist, so unknown names take as long as wrong passwords
+    private volatile String dummyHash;
+
+    /**
+     * @param iterations    PBKDF2 iterations for new hashes
+     * @param threads       hashing threads, normally no more than the CPU count
+     * @param queueCapacity hash requests that may wait for a thread before new ones are rejected
+     */
+    public PasswordHasher(int iterations, int threads, int queueCapacity) {
+        this.iterations = iterations;
+        this.workers = LMSExecutors.newBoundedExecutor("lms-password", threads, queueCapacity);
+    }
+
+    /**
+     * Hashes a new password on the hashing pool
+     *
+     * @throws RejectedExecutionException if the hashing queue is full
+     */
+    public String hash(String password) throws InterruptedException {
+        return call(() -> hashNow(password));
+    }
+
+    /**
+     * Checks a password against a stored value on the hashing pool.
+     * A null stored value (unknown user) costs the same as a wrong password.
+     *
+     * @return null if the password is wrong; otherwise the value to keep storing,
+     *         which is a fresh hash when the stored one was plaintext or cheaper than the current cost
+     * @throws RejectedExecutionException if the hashing queue is full
+     */
+    public String verify(String password, String stored) throws InterruptedException {
+        return call(() -> {
+            if (stored == null) {
+                matches(password, dummyHash());
+                return null;
+            }
+            if (!matches(password, stored)) {
+                return null;
+            }
+            return needsRehash(stored) ? hashNow(password) : stored;
+        });
+    }
+
+    /**
+     * True when a stored value is plaintext or was hashed with fewer iterations than now
+     */
+    public boolean needsRehash(String stored) {
+        if (!stored.startsWith(PREFIX)) {
+            return true;
+        }
+        String[] parts = stored.split("\\$");
+        try {
+            return parts.length != 4 || Integer.parseInt(parts[1]) < iterations;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private <T> T call(Callable<T> task) throws InterruptedException {
+        Future<T> future = workers.submit(task);
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : new IllegalStateException(cause);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            throw e;
+        }
+    }
+
+    private String hashNow(String password) {
+        byte[] salt = new byte[SALT_BYTES];
+        random.nextBytes(salt);
+        Base64.Encoder base64 = Base64.getEncoder();
+        return PREFIX + iterations + "$" + base64.encodeToString(salt) + "$"
+            + base64.encodeToString(pbkdf2(password, salt, iterations));
+    }
+
+    private static boolean matches(String password, String stored) {
+        if (!stored.startsWith(PREFIX)) {
+            // Legacy plaintext; still compared in constant time
+            return MessageDigest.isEqual(password.getBytes(StandardCharsets.UTF_8),
+                stored.getBytes(StandardCharsets.UTF_8));
+        }
+        String[] parts = stored.split("\\$");
+        if (parts.length != 4) {
+            return false;
+        }
+        try {
+            Base64.Decoder base64 = Base64.getDecoder();
+            byte[] expected = base64.decode(parts[3]);
+            byte[] actual = pbkdf2(password, base64.decode(parts[2]), Integer.parseInt(parts[1]));
+            return MessageDigest.isEqual(expected, actual);
+        } catch (IllegalArgumentException e) {
+            // Unparseable iteration count or base64: treat as not matching
+            return false;
+        }
+    }
+
+    private String dummyHash() {
+        String hash = dummyHash;
+        if (hash == null) {
+            hash = hashNow("not a real password");
+            dummyHash = hash;
+        }
+        return hash;
+    }
+
+    private static byte[] pbkdf2(String password, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            // Every Java 8+ runtime ships PBKDF2WithHmacSHA256
+            throw new IllegalStateException(ALGORITHM + " is unavailable", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
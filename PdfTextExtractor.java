@@ -0,0 +1,772 @@
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * PdfTextExtractor class - Streaming text extraction from PDF files
+ *
+ * The file is read front to back once; each content stream (normally one per
+ * page) is decoded and parsed on its own, and its text is written straight to
+ * the output, so memory stays bounded no matter how long the document is.
+ * - Only a limited number of streams are in flight at once
+ * - Streams are decoded and parsed in parallel but written in document order
+ * - Extraction stops at the end of a per-document time budget, keeping what it has
+ *
+ * Handles uncompressed and FlateDecode content streams with the standard text
+ * operators (Tj, TJ, ', "). Images, fonts and other binary streams are skipped.
+ * Font encodings and ToUnicode CMaps are not applied. Text shown with an
+ * Identity-encoded (CID) font would come out as glyph ids, so its two-byte
+ * strings are dropped while text in other fonts is kept; the result reports
+ * mostly unreadable output as not usable.
+ */
+public class PdfTextExtractor {
+    private static final Pattern LENGTH = Pattern.compile("/Length\\s+(\\d+)(\\s+\\d+\\s+R)?");
+    private static final Pattern FLATE_FILTER = Pattern.compile("/Filter\\s*(\\[\\s*)?/FlateDecode\\s*\\]?");
+    private static final Pattern NON_TEXT_STREAM = Pattern.compile(
+        "/Subtype\\s*/(Image|Type1C|CIDFontType0C|OpenType|XML)" +
+        "|/Type\\s*/(XRef|ObjStm|Metadata|EmbeddedFile)" +
+        "|/Length[123]|/FunctionType|/ShadingType|/PatternType|/Alternate|/Predictor"
+    );
+    // A composite font whose string bytes are glyph ids rather than character codes; only counted for the log
+    private static final Pattern IDENTITY_FONT = Pattern.compile("/Encoding\\s*/Identity-[HV]");
+    private static final byte[] END_STREAM = "endstream".getBytes();
+    private static final int MAX_DICTIONARY_BYTES = 64 * 1024;
+
+    // The clock is read once per this many scanned bytes rather than per byte
+    private static final int DEADLINE_CHECK_BYTES = 64 * 1024;
+
+    // Below this share of letters, digits, spaces and punctuation the text is taken to be garbage
+    private static final double MIN_READABLE_RATIO = 0.8;
+
+    private final ExecutorService workers;
+    private final int maxInFlight;
+    private final long timeBudgetMillis;
+    private final int maxStreamBytes;
+
+    /**
+     * @param threads          worker threads for decoding and parsing content streams
+     * @param timeBudgetMillis how long a single document may take before extraction stops
+     * @param maxStreamBytes   streams larger than this (encoded or decoded) are skipped
+     */
+    public PdfTextExtractor(int threads, long timeBudgetMillis, int maxStreamBytes) {
+        this.workers = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "lms-pdf-extract");
+            t.setDaemon(true);
+            return t;
+        });
+        this.maxInFlight = threads * 2;
+        this.timeBudgetMillis = timeBudgetMillis;
+        this.maxStreamBytes = maxStreamBytes;
+    }
+
+    /**
+     * Extracts the text of a PDF into the given writer
+     */
+    public ExtractionResult extract(Path pdf, Writer out) throws IOException {
+        long deadline = System.currentTimeMillis() + timeBudgetMillis;
+        Deque<Future<String>> inFlight = new ArrayDeque<>();
+        ExtractionResult result = new ExtractionResult();
+
+        try (PdfReader in = new PdfReader(new BufferedInputStream(Files.newInputStream(pdf), 64 * 1024))) {
+            String dictionary = null;
+            int prev = ' ';
+            int sinceDeadlineCheck = 0;
+            int b;
+            while ((b = in.read()) != -1) {
+                if (++sinceDeadlineCheck >= DEADLINE_CHECK_BYTES) {
+                    sinceDeadlineCheck = 0;
+                    if (System.currentTimeMillis() > deadline) {
+                        result.timedOut = true;
+                        break;
+                    }
+                }
+
+                if (b == '<' && in.peek() == '<') {
+                    in.read();
+                    dictionary = in.readDictionary();
+                    if (IDENTITY_FONT.matcher(dictionary).find()) {
+                        result.identityFonts++;
+                    }
+                } else if (b == '(') {
+                    in.skipLiteralString();
+                } else if (b == 's' && isDelimiter(prev) && in.matches("tream")) {
+                    RawStream raw = readStream(in, dictionary);
+                    dictionary = null;
+                    if (raw != null) {
+                        inFlight.add(workers.submit(() -> decodeAndParse(raw)));
+                        result.streams++;
+                    }
+                    // Keep memory bounded: write out the oldest stream before reading more
+                    while (inFlight.size() >= maxInFlight) {
+                        writePage(inFlight.poll(), out, result, deadline);
+                    }
+                    // A stream is a large read of its own, so check the clock on the next byte
+                    sinceDeadlineCheck = DEADLINE_CHECK_BYTES;
+                }
+                prev = b;
+            }
+
+            while (!inFlight.isEmpty()) {
+                writePage(inFlight.poll(), out, result, deadline);
+            }
+        } finally {
+            for (Future<String> pending : inFlight) {
+                pending.cancel(true);
+            }
+        }
+
+        out.flush();
+        return result;
+    }
+
+    /**
+     * Reads the bytes of the stream that just started, or null if it should be skipped
+     */
+    private RawStream readStream(PdfReader in, String dictionary) throws IOException {
+        in.skipStreamEol();
+
+        boolean wanted = dictionary != null && !NON_TEXT_STREAM.matcher(dictionary).find()
+            && (!dictionary.contains("/Filter") || FLATE_FILTER.matcher(dictionary).find());
+
+        Matcher length = dictionary != null ? LENGTH.matcher(dictionary) : null;
+        if (length != null && length.find() && length.group(2) == null) {
+            long size = Long.parseLong(length.group(1));
+            if (!wanted || size > maxStreamBytes) {
+                in.skipFully(size);
+                return null;
+            }
+            return new RawStream(in.readFully((int) size), FLATE_FILTER.matcher(dictionary).find());
+        }
+
+        // Length is indirect or missing: scan for endstream
+        byte[] data = in.readUntil(END_STREAM, wanted ? maxStreamBytes : 0);
+        return wanted && data != null ? new RawStream(data, FLATE_FILTER.matcher(dictionary).find()) : null;
+    }
+
+    private void writePage(Future<String> page, Writer out, ExtractionResult result, long deadline) throws IOException {
+        try {
+            long remaining = Math.max(1, deadline - System.currentTimeMillis());
+            String text = page.get(remaining, TimeUnit.MILLISECONDS);
+            if (!text.isEmpty()) {
+                out.write(text);
+                out.write('\n');
+                result.pages++;
+                result.characters += text.length() + 1;
+                result.readableCharacters += countReadable(text) + 1;
+            }
+        } catch (TimeoutException e) {
+            page.cancel(true);
+            result.timedOut = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while extracting PDF text");
+        } catch (ExecutionException e) {
+            // A single unreadable stream shouldn't lose the rest of the document
+            result.failedStreams++;
+        }
+    }
+
+    private String decodeAndParse(RawStream raw) {
+        byte[] content = raw.data;
+        if (raw.flate) {
+            content = inflate(content);
+            if (content == null) {
+                return "";
+            }
+        }
+        return ContentStreamParser.extractText(content);
+    }
+
+    /**
+     * Inflates a FlateDecode stream, giving up if it grows past the stream limit
+     */
+    private byte[] inflate(byte[] data) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            ByteArrayOutputStream out = new ByteArrayOutputStream((int) Math.min(data.length * 4L, maxStreamBytes));
+            byte[] buffer = new byte[16 * 1024];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buffer);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                out.write(buffer, 0, n);
+                if (out.size() > maxStreamBytes) {
+                    return null;
+                }
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            return null;
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static boolean isDelimiter(int b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t' || b == '\f' || b == 0 || b == '>';
+    }
+
+    private static int countReadable(String text) {
+        int readable = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c) || Character.isWhitespace(c) || ".,;:!?'\"()-".indexOf(c) >= 0) {
+                readable++;
+            }
+        }
+        return readable;
+    }
+
+    /**
+     * Stops the worker threads
+     */
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * Encoded bytes of one content stream
+     */
+    private static class RawStream {
+        final byte[] data;
+        final boolean flate;
+
+        RawStream(byte[] data, boolean flate) {
+            this.data = data;
+            this.flate = flate;
+        }
+    }
+
+    /**
+     * Summary of one extraction
+     */
+    static class ExtractionResult {
+        int streams;
+        int pages;
+        int failedStreams;
+        int identityFonts;
+        long characters;
+        long readableCharacters;
+        boolean timedOut;
+
+        public int getPages() {
+            return pages;
+        }
+
+        public long getCharacters() {
+            return characters;
+        }
+
+        public boolean isTimedOut() {
+            return timedOut;
+        }
+
+        /**
+         * False when too little of the output is readable, i.e. it is likely binary noise
+         * rather than what the document says; glyph ids from CID fonts were already dropped
+         */
+        public boolean isUsable() {
+            return readableCharacters >= characters * MIN_READABLE_RATIO;
+        }
+
+        @Override
+        public String toString() {
+            return "ExtractionResult[streams=" + streams + ", pages=" + pages + ", failed=" + failedStreams +
+                ", chars=" + characters + ", readable=" + readableCharacters +
+                (identityFonts > 0 ? ", identity fonts=" + identityFonts : "") + (timedOut ? ", timed out" : "") + "]";
+        }
+    }
+
+    /**
+     * Sequential reader over the raw PDF bytes with the few lookahead helpers the scanner needs
+     */
+    private static class PdfReader implements Closeable {
+        private final InputStream in;
+        private int peeked = -2;
+
+        PdfReader(InputStream in) {
+            this.in = in;
+        }
+
+        int read() throws IOException {
+            if (peeked != -2) {
+                int b = peeked;
+                peeked = -2;
+                return b;
+            }
+            return in.read();
+        }
+
+        int peek() throws IOException {
+            if (peeked == -2) {
+                peeked = in.read();
+            }
+            return peeked;
+        }
+
+        /**
+         * Consumes the rest of a keyword if it follows; on a mismatch only the matched bytes are lost
+         */
+        boolean matches(String rest) throws IOException {
+            for (int i = 0; i < rest.length(); i++) {
+                if (peek() != rest.charAt(i)) {
+                    return false;
+                }
+                read();
+            }
+            int next = peek();
+            return next == '\r' || next == '\n' || next == ' ';
+        }
+
+        void skipStreamEol() throws IOException {
+            while (peek() == ' ') {
+                read();
+            }
+            if (peek() == '\r') {
+                read();
+            }
+            if (peek() == '\n') {
+                read();
+            }
+        }
+
+        /**
+         * Reads a dictionary body after its opening "<<", handling nesting and strings
+         */
+        String readDictionary() throws IOException {
+            StringBuilder dict = new StringBuilder("<<");
+            int depth = 1;
+            int b;
+            while (depth > 0 && (b = read()) != -1) {
+                if (b == '<' && peek() == '<') {
+                    read();
+                    depth++;
+                    append(dict, "<<");
+                } else if (b == '>' && peek() == '>') {
+                    read();
+                    depth--;
+                    append(dict, ">>");
+                } else if (b == '(') {
+                    skipLiteralString();
+                    append(dict, "()");
+                } else {
+                    if (dict.length() < MAX_DICTIONARY_BYTES) {
+                        dict.append((char) b);
+                    }
+                }
+            }
+            return dict.toString();
+        }
+
+        private static void append(StringBuilder dict, String s) {
+            if (dict.length() < MAX_DICTIONARY_BYTES) {
+                dict.append(s);
+            }
+        }
+
+        void skipLiteralString() throws IOException {
+            int depth = 1;
+            int b;
+            while (depth > 0 && (b = read()) != -1) {
+                if (b == '\\') {
+                    read();
+                } else if (b == '(') {
+                    depth++;
+                } else if (b == ')') {
+                    depth--;
+                }
+            }
+        }
+
+        void skipFully(long n) throws IOException {
+            if (n > 0 && peeked != -2) {
+                read();
+                n--;
+            }
+            while (n > 0) {
+                long skipped = in.skip(n);
+                if (skipped <= 0) {
+                    if (in.read() == -1) {
+                        return;
+                    }
+                    skipped = 1;
+                }
+                n -= skipped;
+            }
+        }
+
+        byte[] readFully(int n) throws IOException {
+            byte[] data = new byte[n];
+            int off = 0;
+            if (n > 0 && peeked != -2) {
+                int b = read();
+                if (b == -1) {
+                    return new byte[0];
+                }
+                data[off++] = (byte) b;
+            }
+            while (off < n) {
+                int r = in.read(data, off, n - off);
+                if (r < 0) {
+                    return Arrays.copyOf(data, off);
+                }
+                off += r;
+            }
+            return data;
+        }
+
+        /**
+         * Reads up to the marker, keeping at most limit bytes; returns null if the limit was exceeded
+         */
+        byte[] readUntil(byte[] marker, int limit) throws IOException {
+            ByteArrayOutputStream data = new ByteArrayOutputStream();
+            boolean overflow = false;
+            int matched = 0;
+            int b;
+            while ((b = read()) != -1) {
+                if (b == marker[matched]) {
+                    matched++;
+                    if (matched == marker.length) {
+                        break;
+                    }
+                    continue;
+                }
+                if (!overflow) {
+                    data.write(marker, 0, matched);
+                }
+                // "endstream" has no repeated prefix, so a mismatch can only restart at 'e'
+                matched = b == marker[0] ? 1 : 0;
+                if (matched == 0 && !overflow) {
+                    data.write(b);
+                }
+                if (data.size() > limit) {
+                    overflow = true;
+                    data.reset();
+                }
+            }
+            return overflow ? null : data.toByteArray();
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
+
+/**
+ * ContentStreamParser class - Pulls the shown text out of a decoded page content stream
+ */
+class ContentStreamParser {
+    private final byte[] data;
+    private int pos;
+    private final StringBuilder text = new StringBuilder();
+    private final List<Object> operands = new ArrayList<>();
+
+    private ContentStreamParser(byte[] data) {
+        this.data = data;
+    }
+
+    static String extractText(byte[] content) {
+        ContentStreamParser parser = new ContentStreamParser(content);
+        parser.parse();
+        return parser.text.toString().replaceAll("[ \\t]+", " ").replaceAll(" ?\\n[\\n ]*", "\n").trim();
+    }
+
+    private void parse() {
+        List<Object> array = null;
+        while (pos < data.length) {
+            int b = data[pos] & 0xFF;
+            if (isWhitespace(b)) {
+                pos++;
+            } else if (b == '%') {
+                while (pos < data.length && data[pos] != '\n' && data[pos] != '\r') {
+                    pos++;
+                }
+            } else if (b == '(') {
+                pos++;
+                addOperand(array, readLiteralString());
+            } else if (b == '<' && peek(1) == '<') {
+                skipDictionary();
+            } else if (b == '<') {
+                pos++;
+                addOperand(array, readHexString());
+            } else if (b == '[') {
+                pos++;
+                array = new ArrayList<>();
+            } else if (b == ']') {
+                pos++;
+                operands.add(array != null ? array : new ArrayList<>());
+                array = null;
+            } else if (b == '/') {
+                pos++;
+                readWord();
+                addOperand(array, "/");
+            } else if (b == '-' || b == '+' || b == '.' || (b >= '0' && b <= '9')) {
+                addOperand(array, readNumber());
+            } else {
+                String operator = readWord();
+                if (operator.isEmpty()) {
+                    pos++;
+                    continue;
+                }
+                applyOperator(operator);
+                operands.clear();
+                array = null;
+            }
+        }
+    }
+
+    private void addOperand(List<Object> array, Object operand) {
+        if (array != null) {
+            array.add(operand);
+        } else {
+            operands.add(operand);
+        }
+    }
+
+    private void applyOperator(String operator) {
+        switch (operator) {
+            case "Tj":
+                showString(lastOperand(String.class));
+                break;
+            case "'":
+            case "\"":
+                text.append('\n');
+                showString(lastOperand(String.class));
+                break;
+            case "TJ":
+                List<?> parts = lastOperand(List.class);
+                if (parts != null) {
+                    for (Object part : parts) {
+                        if (part instanceof String) {
+                            showString((String) part);
+                        } else if (part instanceof Double && (Double) part < -250) {
+                            // Large negative kerning is how most generators encode a word space
+                            text.append(' ');
+                        }
+                    }
+                }
+                break;
+            case "Td":
+            case "TD":
+                Double ty = operands.size() >= 2 && operands.get(1) instanceof Double ? (Double) operands.get(1) : null;
+                text.append(ty != null && ty != 0 ? '\n' : ' ');
+                break;
+            case "T*":
+                text.append('\n');
+                break;
+            case "Tm":
+            case "BT":
+                text.append(' ');
+                break;
+            case "ET":
+                text.append('\n');
+                break;
+            case "BI":
+                skipInlineImage();
+                break;
+            default:
+                break;
+        }
+    }
+
+    private <T> T lastOperand(Class<T> type) {
+        if (operands.isEmpty()) {
+            return null;
+        }
+        Object last = operands.get(operands.size() - 1);
+        return type.isInstance(last) ? type.cast(last) : null;
+    }
+
+    private void showString(String s) {
+        if (s != null) {
+            text.append(s);
+        }
+    }
+
+    private String readLiteralString() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int depth = 1;
+        while (pos < data.length) {
+            int b = data[pos++] & 0xFF;
+            if (b == '\\' && pos < data.length) {
+                int e = data[pos++] & 0xFF;
+                switch (e) {
+                    case 'n': out.write('\n'); break;
+                    case 'r': out.write('\r'); break;
+                    case 't': out.write('\t'); break;
+                    case 'b': out.write('\b'); break;
+                    case 'f': out.write('\f'); break;
+                    case '\r':
+                        if (pos < data.length && data[pos] == '\n') {
+                            pos++;
+                        }
+                        break;
+                    case '\n':
+                        break;
+                    default:
+                        if (e >= '0' && e <= '7') {
+                            int value = e - '0';
+                            for (int i = 0; i < 2 && pos < data.length && data[pos] >= '0' && data[pos] <= '7'; i++) {
+                                value = value * 8 + (data[pos++] - '0');
+                            }
+                            out.write(value);
+                        } else {
+                            out.write(e);
+                        }
+                }
+            } else if (b == '(') {
+                depth++;
+                out.write(b);
+            } else if (b == ')') {
+                if (--depth == 0) {
+                    break;
+                }
+                out.write(b);
+            } else {
+                out.write(b);
+            }
+        }
+        return decode(out.toByteArray());
+    }
+
+    private String readHexString() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int high = -1;
+        while (pos < data.length) {
+            int b = data[pos++] & 0xFF;
+            if (b == '>') {
+                break;
+            }
+            int digit = Character.digit(b, 16);
+            if (digit < 0) {
+                continue;
+            }
+            if (high < 0) {
+                high = digit;
+            } else {
+                out.write(high * 16 + digit);
+                high = -1;
+            }
+        }
+        if (high >= 0) {
+            out.write(high * 16);
+        }
+        return decode(out.toByteArray());
+    }
+
+    /**
+     * Decodes string bytes, dropping control bytes that come from fonts without
+     * a readable encoding. Two-byte codes are what Identity-encoded (CID) fonts
+     * show; they are glyph ids, not characters, so such strings yield nothing.
+     */
+    private static String decode(byte[] bytes) {
+        if (isTwoByteCodes(bytes)) {
+            return "";
+        }
+
+        StringBuilder s = new StringBuilder(bytes.length);
+        for (int i = 0; i < bytes.length; i++) {
+            int c = bytes[i] & 0xFF;
+            if (c >= 0x20 && c != 0x7F) {
+                s.append((char) c);
+            } else if (c == '\n' || c == '\t') {
+                s.append(' ');
+            }
+        }
+        return s.toString();
+    }
+
+    /**
+     * True for an even-length string whose high bytes are all small and include a zero,
+     * i.e. glyph ids below 8192; single-byte text practically never looks like that
+     */
+    private static boolean isTwoByteCodes(byte[] bytes) {
+        if (bytes.length < 2 || bytes.length % 2 != 0) {
+            return false;
+        }
+        boolean zeroHighByte = false;
+        for (int i = 0; i < bytes.length; i += 2) {
+            if ((bytes[i] & 0xFF) >= 0x20) {
+                return false;
+            }
+            zeroHighByte |= bytes[i] == 0;
+        }
+        return zeroHighByte;
+    }
+
+    private Double readNumber() {
+        int start = pos;
+        pos++;
+        while (pos < data.length && ((data[pos] >= '0' && data[pos] <= '9') || data[pos] == '.')) {
+            pos++;
+        }
+        try {
+            return Double.valueOf(new String(data, start, pos - start));
+        } catch (NumberFormatException e) {
+            return 0.0;
+        }
+    }
+
+    private String readWord() {
+        int start = pos;
+        while (pos < data.length && !isWhitespace(data[pos] & 0xFF) && !isDelimiter(data[pos] & 0xFF)) {
+            pos++;
+        }
+        return new String(data, start, pos - start);
+    }
+
+    private void skipDictionary() {
+        int depth = 0;
+        while (pos < data.length) {
+            if (data[pos] == '<' && peek(1) == '<') {
+                depth++;
+                pos += 2;
+            } else if (data[pos] == '>' && peek(1) == '>') {
+                depth--;
+                pos += 2;
+                if (depth == 0) {
+                    return;
+                }
+            } else {
+                pos++;
+            }
+        }
+    }
+
+    /**
+     * Inline image data is binary; skip to the EI operator that ends it
+     */
+    private void skipInlineImage() {
+        while (pos + 2 < data.length) {
+            if (data[pos] == 'E' && data[pos + 1] == 'I' && isWhitespace(data[pos - 1] & 0xFF)
+                && (isWhitespace(data[pos + 2] & 0xFF))) {
+                pos += 2;
+                return;
+            }
+            pos++;
+        }
+        pos = data.length;
+    }
+
+    private int peek(int offset) {
+        return pos + offset < data.length ? data[pos + offset] & 0xFF : -1;
+    }
+
+    private static boolean isWhitespace(int b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t' || b == '\f' || b == 0;
+    }
+
+    private static boolean isDelimiter(int b) {
+        return b == '(' || b == ')' || b == '<' || b == '>' || b == '[' || b == ']'
+            || b == '{' || b == '}' || b == '/' || b == '%';
+    }
+}
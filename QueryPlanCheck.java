@@ -0,0 +1,61 @@
+import java.sql.*;
+import java.util.*;
+
+/**
+ * QueryPlanCheck class - Startup EXPLAIN check for the hot queries
+ *
+ * Each registered query is EXPLAINed with sample parameters, and any table the
+ * optimizer would read with a full scan (access type ALL) is reported, so a
+ * missing or unusable index shows up in the logs long before the table is large
+ * enough to make the page slow.
+ */
+public class QueryPlanCheck {
+    private final Map<String, String> queries = new LinkedHashMap<>();
+    private final Map<String, Object[]> parameters = new HashMap<>();
+
+    /**
+     * Registers a query to check; the sample parameters only need the right types
+     */
+    public QueryPlanCheck add(String name, String sql, Object... sampleParameters) {
+        queries.put(name, sql);
+        parameters.put(name, sampleParameters);
+        return this;
+    }
+
+    /**
+     * EXPLAINs every registered query and warns about full table scans
+     *
+     * @return the names of the queries that would scan a whole table
+     */
+    public List<String> run(Connection conn) {
+        List<String> fullScans = new ArrayList<>();
+
+        for (Map.Entry<String, String> query : queries.entrySet()) {
+            String name = query.getKey();
+            try {
+                PreparedStatement stmt = conn.prepareStatement("EXPLAIN " + query.getValue());
+                Object[] sample = parameters.get(name);
+                for (int i = 0; i < sample.length; i++) {
+                    stmt.setObject(i + 1, sample[i]);
+                }
+
+                ResultSet rs = stmt.executeQuery();
+                while (rs.next()) {
+                    if ("ALL".equalsIgnoreCase(rs.getString("type"))) {
+                        System.err.println("Query plan warning: " + name + " does a full scan of " + rs.getString("table")
+                            + " (possible_keys=" + rs.getString("possible_keys") + ", rows=" + rs.getLong("rows") + ")");
+                        if (!fullScans.contains(name)) {
+                            fullScans.add(name);
+                        }
+                    }
+                }
+                rs.close();
+                stmt.close();
+            } catch (SQLException e) {
+                System.err.println("Error checking query plan for " + name + ": " + e.getMessage());
+            }
+        }
+
+        return fullScans;
+    }
+}
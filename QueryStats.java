@@ -0,0 +1,230 @@
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * QueryStats class - Per-statement JDBC timing aggregated by SQL shape
+ *
+ * A statement's shape is its SQL with literals replaced by ? and IN lists and
+ * multi-row VALUES collapsed, so executions that differ only in parameters or
+ * batch size add up to one entry and no parameter values are ever kept.
+ * Executions over the slow threshold also go to the SlowQueryLog, if any.
+ */
+public class QueryStats {
+    // Shapes tracked separately; anything past this is lumped under OTHER_SHAPE
+    private static final int MAX_SHAPES = 500;
+    private static final String OTHER_SHAPE = "<other>";
+
+    // Masked shapes of recently seen SQL strings; prepared SQL is mostly constants, so this rarely misses
+    private static final int MAX_CACHED_SHAPES = 2000;
+    private static final Map<String, String> shapeCache = new ConcurrentHashMap<>();
+
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bIN \\(\\?(?:, ?\\?)*\\)");
+    private static final Pattern VALUES_ROWS = Pattern.compile("(?i)\\bVALUES (\\([^()]*\\))(?:, ?\\([^()]*\\))+");
+
+    private final long slowNanos;
+    private final SlowQueryLog slowLog;
+    private final Map<String, StatementShapeStats> statements = new ConcurrentHashMap<>();
+    private final LongAdder slowCount = new LongAdder();
+
+    /**
+     * @param slowMillis executions taking at least this long are logged
+     * @param slowLog    where slow executions go, or null to only count them
+     */
+    public QueryStats(long slowMillis, SlowQueryLog slowLog) {
+        this.slowNanos = slowMillis * 1_000_000L;
+        this.slowLog = slowLog;
+    }
+
+    /**
+     * Records one execution
+     *
+     * @param rows rows returned by a query, or affected by an update or batch
+     */
+    public void record(String sql, long nanos, long rows, boolean error) {
+        String shape = shapeOf(sql);
+        statsFor(shape).record(nanos, rows, error);
+
+        if (nanos >= slowNanos) {
+            slowCount.increment();
+            if (slowLog != null) {
+                slowLog.write(nanos, rows, error, shape);
+            }
+        }
+    }
+
+    /**
+     * Records a prepareStatement call and whether the connection's statement cache already had it
+     */
+    public void recordPrepare(String sql, boolean cacheHit) {
+        StatementShapeStats stats = statsFor(shapeOf(sql));
+        stats.prepares.increment();
+        if (cacheHit) {
+            stats.cacheHits.increment();
+        }
+    }
+
+    private StatementShapeStats statsFor(String shape) {
+        StatementShapeStats stats = statements.get(shape);
+        if (stats == null) {
+            stats = statements.size() < MAX_SHAPES
+                ? statements.computeIfAbsent(shape, StatementShapeStats::new)
+                : statements.computeIfAbsent(OTHER_SHAPE, StatementShapeStats::new);
+        }
+        return stats;
+    }
+
+    public long getSlowCount() {
+        return slowCount.sum();
+    }
+
+    /**
+     * One map per statement shape, the most total time first
+     */
+    public List<Map<String, Object>> snapshot() {
+        List<StatementShapeStats> sorted = new ArrayList<>(statements.values());
+        sorted.sort(Comparator.comparingLong((StatementShapeStats stats) -> stats.latency.getTotalNanos()).reversed());
+        List<Map<String, Object>> snapshot = new ArrayList<>();
+        for (StatementShapeStats stats : sorted) {
+            snapshot.add(stats.toMap());
+        }
+        return snapshot;
+    }
+
+    public void reset() {
+        statements.clear();
+        slowCount.reset();
+    }
+
+    /**
+     * Closes the slow query log's file; a later slow statement reopens it
+     */
+    public void close() {
+        if (slowLog != null) {
+            slowLog.close();
+        }
+    }
+
+    /**
+     * Masks a SQL string into its shape; see the class comment
+     */
+    static String shapeOf(String sql) {
+        if (sql == null) {
+            return "<unknown>";
+        }
+        String shape = shapeCache.get(sql);
+        if (shape == null) {
+            shape = mask(sql);
+            if (shapeCache.size() < MAX_CACHED_SHAPES) {
+                shapeCache.put(sql, shape);
+            }
+        }
+        return shape;
+    }
+
+    private static String mask(String sql) {
+        StringBuilder out = new StringBuilder(sql.length());
+        int length = sql.length();
+        int i = 0;
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (c == '\'' || c == '"') {
+                // String literal, with doubled or backslashed quotes inside
+                i++;
+                while (i < length) {
+                    char d = sql.charAt(i);
+                    if (d == '\\') {
+                        i += 2;
+                    } else if (d == c && i + 1 < length && sql.charAt(i + 1) == c) {
+                        i += 2;
+                    } else if (d == c) {
+                        i++;
+                        break;
+                    } else {
+                        i++;
+                    }
+                }
+                out.append('?');
+            } else if (c == '`') {
+                // Quoted identifier, kept as is
+                int end = sql.indexOf('`', i + 1);
+                end = end < 0 ? length : end + 1;
+                out.append(sql, i, end);
+                i = end;
+            } else if (Character.isDigit(c) && !partOfIdentifier(out)) {
+                while (i < length && (Character.isLetterOrDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+                    i++;
+                }
+                out.append('?');
+            } else if (Character.isWhitespace(c)) {
+                while (i < length && Character.isWhitespace(sql.charAt(i))) {
+                    i++;
+                }
+                if (out.length() > 0) {
+                    out.append(' ');
+                }
+            } else {
+                out.append(c);
+                i++;
+            }
+        }
+
+        String shape = out.toString().trim();
+        shape = IN_LIST.matcher(shape).replaceAll("IN (?+)");
+        shape = VALUES_ROWS.matcher(shape).replaceAll("VALUES $1, ...");
+        return shape;
+    }
+
+    private static boolean partOfIdentifier(StringBuilder out) {
+        if (out.length() == 0) {
+            return false;
+        }
+        char previous = out.charAt(out.length() - 1);
+        return Character.isLetterOrDigit(previous) || previous == '_' || previous == '$';
+    }
+}
+
+/**
+ * StatementShapeStats class - Counters and latency histogram for one statement shape
+ */
+class StatementShapeStats {
+    final String shape;
+    final LongAdder errors = new LongAdder();
+    final LongAdder rows = new LongAdder();
+    final LongAdder prepares = new LongAdder();
+    final LongAdder cacheHits = new LongAdder();
+    final LatencyHistogram latency = new LatencyHistogram();
+
+    StatementShapeStats(String shape) {
+        this.shape = shape;
+    }
+
+    void record(long nanos, long rowCount, boolean error) {
+        latency.record(nanos);
+        if (rowCount > 0) {
+            rows.add(rowCount);
+        }
+        if (error) {
+            errors.increment();
+        }
+    }
+
+    Map<String, Object> toMap() {
+        long executions = latency.getCount();
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("sql", shape);
+        map.put("executions", executions);
+        map.put("errors", errors.sum());
+        map.put("rows", rows.sum());
+        map.put("rowsPerExecution", executions == 0 ? 0.0 : (double) rows.sum() / executions);
+        map.put("totalMillis", latency.getTotalNanos() / 1e6);
+        map.put("meanMillis", latency.getMeanNanos() / 1e6);
+        map.put("p50Millis", latency.getValueAtPercentile(50) / 1e6);
+        map.put("p99Millis", latency.getValueAtPercentile(99) / 1e6);
+        map.put("maxMillis", latency.getMaxNanos() / 1e6);
+        map.put("prepares", prepares.sum());
+        map.put("statementCacheHits", cacheHits.sum());
+        return map;
+    }
+}
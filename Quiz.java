@@ -0,0 +1,41 @@
+import java.util.List;
+
+/**
+ * Quiz class - Model for quiz questions
+ */
+class Quiz {
+    private int id;
+    private String question;
+    private List<String> options;
+    private String answer;
+    
+    public Quiz(String question, List<String> options, String answer) {
+        this.id = -1;
+        this.question = question;
+        this.options = options;
+        this.answer = answer;
+    }
+    
+    public Quiz(int id, String question, List<String> options, String answer) {
+        this.id = id;
+        this.question = question;
+        this.options = options;
+        this.answer = answer;
+    }
+    
+    public int getId() {
+        return id;
+    }
+    
+    public String getQuestion() {
+        return question;
+    }
+    
+    public List<String> getOptions() {
+        return options;
+    }
+    
+    public String getAnswer() {
+        return answer;
+    }
+}
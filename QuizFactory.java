@@ -0,0 +1,299 @@
+import java.util.*;
+
+/**
+ * QuizFactory class - Factory pattern for creating quizzes
+ */
+class QuizFactory {
+    private Random random = new Random();
+    
+    /**
+     * Creates a list of quizzes from PDF text
+     */
+    public List<Quiz> createQuizzes(String pdfText, String courseName, int count) {
+        List<Quiz> quizzes = new ArrayList<>();
+        
+        // Generate quiz questions based on course
+        QuizGenerationStrategy strategy;
+        if (courseName.contains("Cloud Computing")) {
+            strategy = new CloudComputingQuizStrategy();
+        } else if (courseName.contains("OOAD")) {
+            strategy = new OOADQuizStrategy();
+        } else if (courseName.contains("Computer Design")) {
+            strategy = new ComputerDesignQuizStrategy();
+        } else {
+            strategy = new DefaultQuizStrategy();
+        }
+        
+        // Generate quizzes using the selected strategy
+        quizzes = strategy.generateQuizzes(pdfText, count);
+        
+        return quizzes;
+    }
+}
+
+/**
+ * QuizGenerationStrategy interface - Strategy pattern
+ */
+interface QuizGenerationStrategy {
+    List<Quiz> generateQuizzes(String pdfText, int count);
+}
+
+/**
+ * DefaultQuizStrategy class - Default implementation of QuizGenerationStrategy
+ */
+class DefaultQuizStrategy implements QuizGenerationStrategy {
+    private Random random = new Random();
+    
+    @Override
+    public List<Quiz> generateQuizzes(String pdfText, int count) {
+        List<Quiz> quizzes = new ArrayList<>();
+        
+        // Split text into sentences
+        String[] sentences = pdfText.split("[.!?]+");
+        
+        // Generate questions based on the content
+        for (int i = 0; i < count && i < sentences.length; i++) {
+            String sentence = sentences[i].trim();
+            if (sentence.length() < 20) continue; // Skip very short sentences
+            
+            // Create a question from the sentence
+            String question = createQuestionFromSentence(sentence);
+            List<String> options = generateOptionsFromSentence(sentence);
+            
+            // Shuffle options
+            Collections.shuffle(options);
+            
+            // Find the position of the correct answer after shuffling
+            char answerLetter = (char)('A' + options.indexOf(options.get(0)));
+            
+            quizzes.add(new Quiz(question, options, String.valueOf(answerLetter)));
+        }
+        
+        // If we couldn't generate enough quizzes, add some default ones
+        if (quizzes.size() < count) {
+            String[] defaultQuestions = {
+                "What is the main purpose of this course?",
+                "Which concept is most fundamental to this subject?",
+                "How would you apply these concepts in a real-world scenario?",
+                "What are the key benefits of understanding this subject?",
+                "Which of the following is NOT related to this course?"
+            };
+            
+            for (int i = quizzes.size(); i < count && i < defaultQuestions.length; i++) {
+                List<String> options = generateGenericOptions();
+                String correctAnswer = options.get(0); // First option is correct
+                
+                // Shuffle options
+                Collections.shuffle(options);
+                
+                // Find the position of the correct answer after shuffling
+                char answerLetter = (char)('A' + options.indexOf(correctAnswer));
+                
+                quizzes.add(new Quiz(defaultQuestions[i], options, String.valueOf(answerLetter)));
+            }
+        }
+        
+        return quizzes;
+    }
+    
+    private String createQuestionFromSentence(String sentence) {
+        // Simple question generation by removing key terms
+        if (sentence.contains("is a")) {
+            return sentence.replaceAll("is a.*", "is a what?");
+        } else if (sentence.contains("are")) {
+            return sentence.replaceAll("are.*", "are what?");
+        } else if (sentence.contains("include")) {
+            return sentence.replaceAll("include.*", "include what?");
+        } else if (sentence.contains("involves")) {
+            return sentence.replaceAll("involves.*", "involves what?");
+        } else {
+            return "What is the main concept described in: " + sentence.substring(0, Math.min(50, sentence.length())) + "...?";
+        }
+    }
+    
+    private List<String> generateOptionsFromSentence(String sentence) {
+        List<String> options = new ArrayList<>();
+        
+        // Extract key terms from the sentence
+        String[] words = sentence.split("\\s+");
+        List<String> keyTerms = new ArrayList<>();
+        
+        for (String word : words) {
+            if (word.length() > 4 && !word.equals("which") && !word.equals("what") && 
+                !word.equals("this") && !word.equals("that") && !word.equals("with") && 
+                !word.equals("from") && !word.equals("have") && !word.equals("they")) {
+                keyTerms.add(word);
+            }
+        }
+        
+        // Use key terms as options
+        if (keyTerms.size() >= 4) {
+            // Shuffle and take 4 terms
+            Collections.shuffle(keyTerms);
+            for (int i = 0; i < 4; i++) {
+                options.add(keyTerms.get(i));
+            }
+        } else {
+            // Not enough key terms, use generic options
+            options = generateGenericOptions();
+        }
+        
+        return options;
+    }
+    
+    protected List<String> generateGenericOptions() {
+        List<String> options = new ArrayList<>();
+        options.add("The correct answer");
+        options.add("An incorrect option");
+        options.add("Another wrong choice");
+        options.add("Yet another distractor");
+        return options;
+    }
+}
+
+/**
+ * CloudComputingQuizStrategy class - Strategy for Cloud Computing quizzes
+ */
+class CloudComputingQuizStrategy implements QuizGenerationStrategy {
+    @Override
+    public List<Quiz> generateQuizzes(String pdfText, int count) {
+        List<Quiz> quizzes = new ArrayList<>();
+        
+        // Cloud Computing specific questions
+        String[][] questionsAndAnswers = {
+            {"What is the primary service model that provides virtual machines in the cloud?", 
+             "Infrastructure as a Service (IaaS)", "Platform as a Service (PaaS)", 
+             "Software as a Service (SaaS)", "Function as a Service (FaaS)"},
+            
+            {"Which of the following is NOT a major cloud service provider?", 
+             "Nokia Cloud", "Amazon Web Services", 
+             "Microsoft Azure", "Google Cloud Platform"},
+            
+            {"What is the main benefit of cloud elasticity?", 
+             "Resources can scale up or down based on demand", "Lower initial costs", 
+             "Better security", "Improved data privacy"},
+            
+            {"Which deployment model offers the most control over security?", 
+             "Private cloud", "Public cloud", 
+             "Hybrid cloud", "Community cloud"},
+            
+            {"What technology is fundamental to cloud computing virtualization?", 
+             "Hypervisors", "Web browsers", 
+             "SQL databases", "Blockchain"}
+        };
+        
+        for (int i = 0; i < count && i < questionsAndAnswers.length; i++) {
+            List<String> options = new ArrayList<>();
+            for (int j = 1; j <= 4; j++) {
+                options.add(questionsAndAnswers[i][j]);
+            }
+            
+            // First option is correct
+            String correctAnswer = "A";
+            
+            quizzes.add(new Quiz(questionsAndAnswers[i][0], options, correctAnswer));
+        }
+        
+        return quizzes;
+    }
+}
+
+/**
+ * OOADQuizStrategy class - Strategy for OOAD quizzes
+ */
+class OOADQuizStrategy implements QuizGenerationStrategy {
+    @Override
+    public List<Quiz> generateQuizzes(String pdfText, int count) {
+        List<Quiz> quizzes = new ArrayList<>();
+        
+        // OOAD specific questions
+        String[][] questionsAndAnswers = {
+            {"Which of the following is a key principle of object-oriented design?", 
+             "Encapsulation", "Procedural programming", 
+             "Functional decomposition", "Linear execution"},
+            
+            {"What UML diagram is best for showing class relationships?", 
+             "Class diagram", "Sequence diagram", 
+             "Activity diagram", "Use case diagram"},
+            
+            {"Which design pattern is used to create objects without specifying their concrete classes?", 
+             "Factory Method", "Singleton", 
+             "Observer", "Decorator"},
+            
+            {"What is inheritance in OOP?", 
+             "A mechanism where a class inherits properties and behaviors from another class", 
+             "A way to hide implementation details", 
+             "A method to create multiple instances of a class", 
+             "A technique to override methods"},
+            
+            {"Which SOLID principle states that a class should have only one reason to change?", 
+             "Single Responsibility Principle", "Open/Closed Principle", 
+             "Liskov Substitution Principle", "Interface Segregation Principle"}
+        };
+        
+        for (int i = 0; i < count && i < questionsAndAnswers.length; i++) {
+            List<String> options = new ArrayList<>();
+            for (int j = 1; j <= 4; j++) {
+                options.add(questionsAndAnswers[i][j]);
+            }
+            
+            // First option is correct
+            String correctAnswer = "A";
+            
+            quizzes.add(new Quiz(questionsAndAnswers[i][0], options, correctAnswer));
+        }
+        
+        return quizzes;
+    }
+}
+
+/**
+ * ComputerDesignQuizStrategy class - Strategy for Computer Design quizzes
+ */
+class ComputerDesignQuizStrategy implements QuizGenerationStrategy {
+    @Override
+    public List<Quiz> generateQuizzes(String pdfText, int count) {
+        List<Quiz> quizzes = new ArrayList<>();
+        
+        // Computer Design specific questions
+        String[][] questionsAndAnswers = {
+            {"What is the purpose of the ALU in a CPU?", 
+             "To perform arithmetic and logical operations", "To store program instructions", 
+             "To manage memory access", "To control input/output operations"},
+            
+            {"Which memory type is volatile?", 
+             "RAM", "ROM", 
+             "Hard Disk", "Flash Memory"},
+            
+            {"What does the Von Neumann architecture describe?", 
+             "A computer design with shared memory for instructions and data", 
+             "A computer with separate instruction and data memories", 
+             "A computer without a central processing unit", 
+             "A computer that can only execute one instruction at a time"},
+            
+            {"What is pipelining in CPU design?", 
+             "A technique where multiple instructions are overlapped in execution", 
+             "A method to increase the clock speed of the processor", 
+             "A way to reduce the number of transistors in a CPU", 
+             "A technique to eliminate the need for cache memory"},
+            
+            {"Which of the following is NOT a type of computer bus?", 
+             "Processing Bus", "Data Bus", 
+             "Address Bus", "Control Bus"}
+        };
+        
+        for (int i = 0; i < count && i < questionsAndAnswers.length; i++) {
+            List<String> options = new ArrayList<>();
+            for (int j = 1; j <= 4; j++) {
+                options.add(questionsAndAnswers[i][j]);
+            }
+            
+            // First option is correct
+            String correctAnswer = "A";
+            
+            quizzes.add(new Quiz(questionsAndAnswers[i][0], options, correctAnswer));
+        }
+        
+        return quizzes;
+    }
+}
@@ -0,0 +1,32 @@
+import java.util.List;
+
+/**
+ * QuizQuestion class - One built-in quiz question with its options and answer letter
+ */
+class QuizQuestion {
+    private String question;
+    private List<String> options;
+    private String correctAnswer;
+    
+    public QuizQuestion(String question, List<String> options, String correctAnswer) {
+        this.question = question;
+        this.options = options;
+        this.correctAnswer = correctAnswer;
+    }
+    
+    public String getQuestion() {
+        return question;
+    }
+    
+    public List<String> getOptions() {
+        return options;
+    }
+    
+    public String getCorrectAnswer() {
+        return correctAnswer;
+    }
+    
+    public boolean isCorrectAnswer(String answer) {
+        return correctAnswer.equals(answer);
+    }
+}
@@ -1,3 +1,6 @@
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
 
 public class QuizQuestions {
@@ -333,32 +336,40 @@ public class QuizQuestions {
     public static List<QuizQuestion> getQuestionsForCourse(String courseName) {
         return COURSE_QUESTIONS.getOrDefault(courseName, new ArrayList<>());
     }
-}
-
-class QuizQuestion {
-    private String question;
-    private List<String> options;
-    private String correctAnswer;
     
-    public QuizQuestion(String question, List<String> options, String correctAnswer) {
-        this.question = question;
-        this.options = options;
-        this.correctAnswer = correctAnswer;
+    /**
+     * SHA-256 over every built-in question, used to skip reseeding when nothing changed
+     */
+    public static String checksum() {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            List<String> courseNames = new ArrayList<>(COURSE_QUESTIONS.keySet());
+            Collections.sort(courseNames);
+            
+            for (String courseName : courseNames) {
+                update(digest, courseName);
+                for (QuizQuestion question : COURSE_QUESTIONS.get(courseName)) {
+                    update(digest, question.getQuestion());
+                    for (String option : question.getOptions()) {
+                        update(digest, option);
+                    }
+                    update(digest, question.getCorrectAnswer());
+                }
+            }
+            
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest.digest()) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
     
-    public String getQuestion() {
-        return question;
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        // Separator so adjacent fields can't run together
+        digest.update((byte) 0);
     }
-    
-    public List<String> getOptions() {
-        return options;
-    }
-    
-    public String getCorrectAnswer() {
-        return correctAnswer;
-    }
-    
-    public boolean isCorrectAnswer(String answer) {
-        return correctAnswer.equals(answer);
-    }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,67 @@
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.*;
+
+/**
+ * QuizSet class - Immutable snapshot of one course's quizzes
+ */
+class QuizSet {
+    private final int courseId;
+    private final long version;
+    private final List<Quiz> quizzes;
+    private final String contentHash;
+
+    QuizSet(int courseId, long version, List<Quiz> quizzes) {
+        this.courseId = courseId;
+        this.version = version;
+        this.quizzes = Collections.unmodifiableList(new ArrayList<>(quizzes));
+        this.contentHash = hash(courseId, this.quizzes);
+    }
+
+    public int getCourseId() {
+        return courseId;
+    }
+
+    /**
+     * Changes whenever the course's quizzes change; equal versions mean identical
+     * content, but only within this process since versions restart at 0
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * SHA-256 over what the API serves for each quiz (id, question and options,
+     * never the answer); unlike the version it is the same across restarts and servers
+     */
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public List<Quiz> getQuizzes() {
+        return quizzes;
+    }
+
+    private static String hash(int courseId, List<Quiz> quizzes) {
+        MessageDigest digest = BlobStore.newDigest();
+        update(digest, String.valueOf(courseId));
+        for (Quiz quiz : quizzes) {
+            update(digest, String.valueOf(quiz.getId()));
+            update(digest, String.valueOf(quiz.getQuestion()));
+            List<String> options = quiz.getOptions();
+            update(digest, String.valueOf(options == null ? 0 : options.size()));
+            if (options != null) {
+                for (String option : options) {
+                    update(digest, String.valueOf(option));
+                }
+            }
+        }
+        return BlobStore.toHex(digest.digest());
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        // Separator so adjacent fields can't run together
+        digest.update((byte) 0);
+    }
+}
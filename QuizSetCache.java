@@ -0,0 +1,102 @@
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * QuizSetCache class - Read-through cache of each course's quiz set
+ *
+ * Every course maps to an immutable QuizSet snapshot stamped with a version.
+ * Readers share the snapshot without locking; a write to the course bumps its
+ * version and drops the snapshot, and the next reader rebuilds it once.
+ */
+public class QuizSetCache {
+    private final ConcurrentHashMap<Integer, QuizSet> sets = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, AtomicLong> versions = new ConcurrentHashMap<>();
+    // Serializes rebuilds per course so a burst of misses runs one query
+    private final ConcurrentHashMap<Integer, Object> rebuildLocks = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder rebuilds = new LongAdder();
+
+    /**
+     * Loads a course's quizzes from the database
+     */
+    public interface Loader {
+        List<Quiz> load(int courseId) throws SQLException;
+    }
+
+    /**
+     * Returns the current snapshot for a course, building it on a miss
+     */
+    public QuizSet get(int courseId, Loader loader) throws SQLException {
+        QuizSet set = sets.get(courseId);
+        if (set != null) {
+            hits.increment();
+            return set;
+        }
+
+        misses.increment();
+        synchronized (rebuildLocks.computeIfAbsent(courseId, k -> new Object())) {
+            // Someone else may have rebuilt it while we waited
+            set = sets.get(courseId);
+            if (set != null) {
+                return set;
+            }
+
+            long version = versionOf(courseId).get();
+            set = new QuizSet(courseId, version, loader.load(courseId));
+            rebuilds.increment();
+
+            // Publish, then take it back if a concurrent write made it stale. invalidate() bumps
+            // the version before removing, so either it removes our snapshot or we see its bump.
+            sets.put(courseId, set);
+            if (versionOf(courseId).get() != version) {
+                sets.remove(courseId, set);
+            }
+            return set;
+        }
+    }
+
+    /**
+     * Marks a course's quizzes as changed
+     */
+    public void invalidate(int courseId) {
+        versionOf(courseId).incrementAndGet();
+        sets.remove(courseId);
+    }
+
+    /**
+     * Marks every course as changed, e.g. after reseeding
+     */
+    public void invalidateAll() {
+        for (AtomicLong version : versions.values()) {
+            version.incrementAndGet();
+        }
+        sets.clear();
+    }
+
+    private AtomicLong versionOf(int courseId) {
+        return versions.computeIfAbsent(courseId, k -> new AtomicLong());
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getRebuildCount() {
+        return rebuilds.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("QuizSetCache[courses=%d, hits=%d, misses=%d, rebuilds=%d]",
+            sets.size(), getHitCount(), getMissCount(), getRebuildCount());
+    }
+}
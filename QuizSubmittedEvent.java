@@ -0,0 +1,29 @@
+/**
+ * QuizSubmittedEvent class - A student's quiz answers were graded and saved
+ */
+class QuizSubmittedEvent implements LMSEvent {
+    private final String username;
+    private final String courseName;
+    private final int score;
+
+    QuizSubmittedEvent(String username, String courseName, int score) {
+        this.username = username;
+        this.courseName = courseName;
+        this.score = score;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getCourseName() {
+        return courseName;
+    }
+
+    /**
+     * Percentage score
+     */
+    public int getScore() {
+        return score;
+    }
+}
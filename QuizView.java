@@ -0,0 +1,248 @@
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.table.TableCellEditor;
+import javax.swing.table.TableCellRenderer;
+import java.awt.*;
+import java.util.*;
+import java.util.List;
+
+/**
+ * QuizView class - Virtualized quiz question list
+ *
+ * A single-column JTable: one shared component renders every visible question
+ * and one more edits the question being answered, so the number of Swing
+ * components stays constant however many questions a course has. Answers live
+ * in a byte array indexed by question position, and switching courses only
+ * swaps the model's quiz list.
+ */
+public class QuizView extends JTable {
+    private static final long serialVersionUID = 1L;
+
+    // Lines of question text shown per row; longer questions show in full as a tooltip
+    static final int QUESTION_LINES = 2;
+
+    private final QuizAnswerModel answerModel;
+
+    public QuizView() {
+        super(new QuizAnswerModel());
+        this.answerModel = (QuizAnswerModel) getModel();
+
+        setTableHeader(null);
+        setShowGrid(false);
+        setIntercellSpacing(new Dimension(0, 0));
+        setRowSelectionAllowed(false);
+        setDefaultRenderer(Object.class, new QuizQuestionRenderer());
+        setDefaultEditor(Object.class, new QuizQuestionEditor(answerModel));
+        setRowHeight(new QuizQuestionCell().getPreferredSize().height);
+    }
+
+    /**
+     * Shows a course's quizzes with no answers selected
+     */
+    public void setQuizzes(List<Quiz> quizzes) {
+        if (isEditing()) {
+            getCellEditor().cancelCellEditing();
+        }
+        answerModel.setQuizzes(quizzes);
+    }
+
+    public List<Quiz> getQuizzes() {
+        return answerModel.getQuizzes();
+    }
+
+    /**
+     * Selected answers keyed by quiz id; unanswered questions are left out
+     */
+    public Map<Integer, String> getAnswers() {
+        return answerModel.getAnswers();
+    }
+
+    public void clearAnswers() {
+        if (isEditing()) {
+            getCellEditor().cancelCellEditing();
+        }
+        answerModel.clearAnswers();
+    }
+
+    @Override
+    public String getToolTipText(java.awt.event.MouseEvent event) {
+        int row = rowAtPoint(event.getPoint());
+        return row >= 0 ? answerModel.getQuizzes().get(row).getQuestion() : null;
+    }
+}
+
+/**
+ * QuizAnswerModel class - Quiz list plus one answer byte per question (0 = none, 1-4 = A-D)
+ */
+class QuizAnswerModel extends AbstractTableModel {
+    private static final long serialVersionUID = 1L;
+
+    private List<Quiz> quizzes = Collections.emptyList();
+    private byte[] answers = new byte[0];
+
+    void setQuizzes(List<Quiz> quizzes) {
+        this.quizzes = quizzes;
+        this.answers = new byte[quizzes.size()];
+        fireTableDataChanged();
+    }
+
+    List<Quiz> getQuizzes() {
+        return quizzes;
+    }
+
+    int getAnswer(int position) {
+        return answers[position];
+    }
+
+    void setAnswer(int position, int option) {
+        answers[position] = (byte) option;
+        fireTableCellUpdated(position, 0);
+    }
+
+    Map<Integer, String> getAnswers() {
+        Map<Integer, String> selected = new HashMap<>();
+        for (int i = 0; i < answers.length; i++) {
+            if (answers[i] != 0) {
+                selected.put(quizzes.get(i).getId(), String.valueOf((char) ('A' + answers[i] - 1)));
+            }
+        }
+        return selected;
+    }
+
+    void clearAnswers() {
+        Arrays.fill(answers, (byte) 0);
+        fireTableDataChanged();
+    }
+
+    @Override
+    public int getRowCount() {
+        return quizzes.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return 1;
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        return quizzes.get(rowIndex);
+    }
+
+    @Override
+    public boolean isCellEditable(int rowIndex, int columnIndex) {
+        return true;
+    }
+}
+
+/**
+ * QuizQuestionCell class - Reusable component showing one question and its four options
+ */
+class QuizQuestionCell extends JPanel {
+    private static final long serialVersionUID = 1L;
+
+    final JTextArea questionText = new JTextArea(QuizView.QUESTION_LINES, 40);
+    final JRadioButton[] optionButtons = new JRadioButton[4];
+    private final ButtonGroup optionGroup = new ButtonGroup();
+
+    QuizQuestionCell() {
+        setLayout(new BoxLayout(this, BoxLayout.Y_AXIS));
+        setBorder(BorderFactory.createCompoundBorder(
+            BorderFactory.createEtchedBorder(), new EmptyBorder(5, 5, 5, 5)));
+
+        questionText.setLineWrap(true);
+        questionText.setWrapStyleWord(true);
+        questionText.setEditable(false);
+        questionText.setFocusable(false);
+        questionText.setOpaque(false);
+        questionText.setFont(UIManager.getFont("Label.font"));
+        questionText.setAlignmentX(Component.LEFT_ALIGNMENT);
+        add(questionText);
+        add(Box.createRigidArea(new Dimension(0, 5)));
+
+        for (int i = 0; i < optionButtons.length; i++) {
+            optionButtons[i] = new JRadioButton();
+            optionButtons[i].setOpaque(false);
+            optionButtons[i].setAlignmentX(Component.LEFT_ALIGNMENT);
+            optionGroup.add(optionButtons[i]);
+            add(optionButtons[i]);
+        }
+    }
+
+    /**
+     * Fills the component for one question
+     */
+    void display(int position, Quiz quiz, int selectedOption) {
+        questionText.setText("Question " + (position + 1) + ": " + quiz.getQuestion());
+        List<String> options = quiz.getOptions();
+        optionGroup.clearSelection();
+        for (int i = 0; i < optionButtons.length; i++) {
+            optionButtons[i].setText((char) ('A' + i) + ". " + (i < options.size() ? options.get(i) : ""));
+            optionButtons[i].setSelected(selectedOption == i + 1);
+        }
+    }
+}
+
+/**
+ * QuizQuestionRenderer class - Paints every visible question with one shared cell
+ */
+class QuizQuestionRenderer implements TableCellRenderer {
+    private final QuizQuestionCell cell = new QuizQuestionCell();
+
+    @Override
+    public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected,
+                                                   boolean hasFocus, int row, int column) {
+        QuizAnswerModel model = (QuizAnswerModel) table.getModel();
+        cell.display(row, (Quiz) value, model.getAnswer(row));
+        return cell;
+    }
+}
+
+/**
+ * QuizQuestionEditor class - Live radio buttons for the question under the mouse;
+ * a click records the answer in the model straight away
+ */
+class QuizQuestionEditor extends AbstractCellEditor implements TableCellEditor {
+    private static final long serialVersionUID = 1L;
+
+    private final QuizQuestionCell cell = new QuizQuestionCell();
+    private final QuizAnswerModel model;
+    private int editingRow = -1;
+
+    QuizQuestionEditor(QuizAnswerModel model) {
+        this.model = model;
+        for (int i = 0; i < cell.optionButtons.length; i++) {
+            int option = i + 1;
+            cell.optionButtons[i].addActionListener(e -> {
+                if (editingRow >= 0) {
+                    model.setAnswer(editingRow, option);
+                }
+            });
+        }
+    }
+
+    @Override
+    public Component getTableCellEditorComponent(JTable table, Object value, boolean isSelected, int row, int column) {
+        editingRow = row;
+        cell.display(row, (Quiz) value, model.getAnswer(row));
+        return cell;
+    }
+
+    @Override
+    public Object getCellEditorValue() {
+        return editingRow >= 0 && editingRow < model.getRowCount() ? model.getQuizzes().get(editingRow) : null;
+    }
+
+    @Override
+    public boolean stopCellEditing() {
+        editingRow = -1;
+        return super.stopCellEditing();
+    }
+
+    @Override
+    public void cancelCellEditing() {
+        editingRow = -1;
+        super.cancelCellEditing();
+    }
+}
@@ -0,0 +1,219 @@
+import java.sql.*;
+import java.util.*;
+
+/**
+ * SchemaMigrations class - Versioned database schema changes
+ *
+ * Each migration runs exactly once per database; the applied version is
+ * recorded in schema_version so restarts only pay for a single version check.
+ * New schema changes are appended to MIGRATIONS with the next version number.
+ */
+public class SchemaMigrations {
+    private static final List<Migration> MIGRATIONS = Arrays.asList(
+        new Migration(1, "Base LMS tables",
+            "CREATE TABLE IF NOT EXISTS users (" +
+            "id INT AUTO_INCREMENT PRIMARY KEY, " +
+            "username VARCHAR(50) NOT NULL UNIQUE, " +
+            "password VARCHAR(255) NOT NULL, " +
+            "userType ENUM('Professor', 'Student') NOT NULL" +
+            ")",
+
+            "CREATE TABLE IF NOT EXISTS courses (" +
+            "id INT AUTO_INCREMENT PRIMARY KEY, " +
+            "courseName VARCHAR(100) NOT NULL UNIQUE" +
+            ")",
+
+            "CREATE TABLE IF NOT EXISTS materials (" +
+            "id INT AUTO_INCREMENT PRIMARY KEY, " +
+            "course_id INT NOT NULL, " +
+            "fileName VARCHAR(255) NOT NULL, " +
+            "filePath VARCHAR(255) NOT NULL, " +
+            "uploadDate TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+            "FOREIGN KEY (course_id) REFERENCES courses(id)" +
+            ")",
+
+            "CREATE TABLE IF NOT EXISTS quizzes (" +
+            "id INT AUTO_INCREMENT PRIMARY KEY, " +
+            "course_id INT NOT NULL, " +
+            "question TEXT NOT NULL, " +
+            "option_a TEXT NOT NULL, " +
+            "option_b TEXT NOT NULL, " +
+            "option_c TEXT NOT NULL, " +
+            "option_d TEXT NOT NULL, " +
+            "correct_answer CHAR(1) NOT NULL, " +
+            "FOREIGN KEY (course_id) REFERENCES courses(id)" +
+            ")",
+
+            "CREATE TABLE IF NOT EXISTS quiz_submissions (" +
+            "id INT AUTO_INCREMENT PRIMARY KEY, " +
+            "username VARCHAR(50) NOT NULL, " +
+            "course_id INT NOT NULL, " +
+            "quiz_id INT NOT NULL, " +
+            "answer CHAR(1), " +
+            "score INT, " +
+            "submission_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+            "FOREIGN KEY (course_id) REFERENCES courses(id), " +
+            "FOREIGN KEY (quiz_id) REFERENCES quizzes(id)" +
+            ")"
+        ),
+        new Migration(2, "Key/value settings table",
+            "CREATE TABLE IF NOT EXISTS lms_settings (" +
+            "name VARCHAR(64) PRIMARY KEY, " +
+            "value VARCHAR(255) NOT NULL" +
+            ")"
+        ),
+        new Migration(3, "Content-addressed material storage",
+            "CREATE TABLE IF NOT EXISTS blobs (" +
+            "content_hash CHAR(64) PRIMARY KEY, " +
+            "filePath VARCHAR(255) NOT NULL, " +
+            "size_bytes BIGINT NOT NULL, " +
+            "ref_count INT NOT NULL DEFAULT 0, " +
+            "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP" +
+            ")",
+            "ALTER TABLE materials " +
+            "ADD COLUMN content_hash CHAR(64) NULL, " +
+            "ADD COLUMN quizzes_generated TINYINT(1) NOT NULL DEFAULT 0",
+            // One row per content per course, so concurrent identical uploads can't both insert;
+            // rows from before hashing have a NULL hash, which the index doesn't constrain
+            "CREATE UNIQUE INDEX uq_materials_course_hash ON materials (course_id, content_hash)"
+        ),
+        new Migration(4, "Idempotent submission writes",
+            // Replaying a write-behind log must not store a submission twice
+            "ALTER TABLE quiz_submissions " +
+            "ADD COLUMN submission_id CHAR(36) NULL, " +
+            "ADD UNIQUE KEY uq_submission_quiz (submission_id, quiz_id)"
+        ),
+        new Migration(5, "Per-student score aggregates",
+            "CREATE TABLE IF NOT EXISTS score_aggregates (" +
+            "username VARCHAR(50) NOT NULL, " +
+            "course_id INT NOT NULL, " +
+            "total_questions INT NOT NULL DEFAULT 0, " +
+            "correct_answers INT NOT NULL DEFAULT 0, " +
+            "latest_submission TIMESTAMP NULL, " +
+            "PRIMARY KEY (username, course_id), " +
+            "KEY idx_score_aggregates_course (course_id, username), " +
+            "FOREIGN KEY (course_id) REFERENCES courses(id)" +
+            ")",
+            // Backfill from existing history; from here on submissions keep it current
+            "INSERT INTO score_aggregates (username, course_id, total_questions, correct_answers, latest_submission) " +
+            "SELECT username, course_id, COUNT(DISTINCT quiz_id), COALESCE(SUM(score), 0), MAX(submission_date) " +
+            "FROM quiz_submissions GROUP BY username, course_id"
+        ),
+        new Migration(6, "Indexes for quiz_submissions access paths",
+            // The answered-before lookup on submit; scores are read from score_aggregates instead
+            "CREATE INDEX idx_submissions_user_course_quiz ON quiz_submissions (username, course_id, quiz_id)",
+            // Backs the course_id foreign key under a name of our own rather than MySQL's implicit one
+            "CREATE INDEX idx_submissions_course ON quiz_submissions (course_id)"
+        )
+    );
+
+    private SchemaMigrations() {
+    }
+
+    /**
+     * Applies every migration newer than the database's recorded version.
+     * A named lock keeps two backends starting together from migrating at once.
+     *
+     * @return the schema version after migrating
+     */
+    public static int migrate(Connection conn) throws SQLException {
+        Statement stmt = conn.createStatement();
+        try {
+            stmt.execute(
+                "CREATE TABLE IF NOT EXISTS schema_version (" +
+                "version INT PRIMARY KEY, " +
+                "description VARCHAR(255) NOT NULL, " +
+                "applied_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP" +
+                ")"
+            );
+
+            ResultSet rs = stmt.executeQuery("SELECT GET_LOCK('lms_schema_migration', 60)");
+            boolean locked = rs.next() && rs.getInt(1) == 1;
+            rs.close();
+            if (!locked) {
+                throw new SQLException("Timed out waiting for the schema migration lock");
+            }
+
+            try {
+                int currentVersion = getCurrentVersion(stmt);
+                for (Migration migration : MIGRATIONS) {
+                    if (migration.version <= currentVersion) {
+                        continue;
+                    }
+                    System.out.println("Applying schema migration " + migration.version + ": " + migration.description);
+                    for (String sql : migration.statements) {
+                        stmt.execute(sql);
+                    }
+                    recordVersion(conn, migration);
+                    currentVersion = migration.version;
+                }
+                return currentVersion;
+            } finally {
+                stmt.execute("DO RELEASE_LOCK('lms_schema_migration')");
+            }
+        } finally {
+            stmt.close();
+        }
+    }
+
+    private static int getCurrentVersion(Statement stmt) throws SQLException {
+        ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(version), 0) FROM schema_version");
+        int version = rs.next() ? rs.getInt(1) : 0;
+        rs.close();
+        return version;
+    }
+
+    private static void recordVersion(Connection conn, Migration migration) throws SQLException {
+        PreparedStatement stmt = conn.prepareStatement(
+            "INSERT INTO schema_version (version, description) VALUES (?, ?)"
+        );
+        stmt.setInt(1, migration.version);
+        stmt.setString(2, migration.description);
+        stmt.executeUpdate();
+        stmt.close();
+    }
+
+    /**
+     * Reads a value from lms_settings, or null if it has never been written
+     */
+    public static String readSetting(Connection conn, String name) throws SQLException {
+        PreparedStatement stmt = conn.prepareStatement(
+            "SELECT value FROM lms_settings WHERE name = ?"
+        );
+        stmt.setString(1, name);
+        ResultSet rs = stmt.executeQuery();
+        String value = rs.next() ? rs.getString("value") : null;
+        rs.close();
+        stmt.close();
+        return value;
+    }
+
+    /**
+     * Inserts or replaces a value in lms_settings
+     */
+    public static void writeSetting(Connection conn, String name, String value) throws SQLException {
+        PreparedStatement stmt = conn.prepareStatement(
+            "INSERT INTO lms_settings (name, value) VALUES (?, ?) " +
+            "ON DUPLICATE KEY UPDATE value = VALUES(value)"
+        );
+        stmt.setString(1, name);
+        stmt.setString(2, value);
+        stmt.executeUpdate();
+        stmt.close();
+    }
+
+    /**
+     * A single numbered schema change
+     */
+    private static class Migration {
+        final int version;
+        final String description;
+        final String[] statements;
+
+        Migration(int version, String description, String... statements) {
+            this.version = version;
+            this.description = description;
+            this.statements = statements;
+        }
+    }
+}
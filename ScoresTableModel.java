@@ -0,0 +1,169 @@
+import javax.swing.SwingUtilities;
+import javax.swing.table.AbstractTableModel;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * ScoresTableModel class - Lazily paged table model for the professor scores view
+ *
+ * Rows are fetched a page at a time, off the EDT, when the table first asks for
+ * them, i.e. as the user scrolls. Only a bounded number of pages is kept; the
+ * last username of every page seen is remembered as a keyset cursor so an evicted
+ * page can be fetched again directly. All state is confined to the EDT.
+ */
+public class ScoresTableModel extends AbstractTableModel {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Fetches up to pageSize rows whose username sorts after the cursor
+     */
+    public interface PageLoader {
+        List<String[]> load(String afterUsername, int pageSize);
+    }
+
+    private static final String LOADING = "Loading...";
+
+    private final String[] columnNames;
+    private final int pageSize;
+    private final int maxCachedPages;
+
+    private PageLoader loader;
+    private int rowCount;
+    // Bumped on every reset so loads for a previous course are ignored
+    private long generation;
+
+    // Access-ordered for LRU eviction of whole pages
+    private final LinkedHashMap<Integer, List<String[]>> pages = new LinkedHashMap<>(16, 0.75f, true);
+    // Last username of each page fetched so far: the cursor for the page after it
+    private final Map<Integer, String> pageEnds = new HashMap<>();
+    private final Set<Integer> pending = new HashSet<>();
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "lms-scores-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ScoresTableModel(String[] columnNames, int pageSize, int maxCachedPages) {
+        this.columnNames = columnNames;
+        this.pageSize = pageSize;
+        this.maxCachedPages = maxCachedPages;
+    }
+
+    /**
+     * Switches the model to a new row source, discarding every cached page
+     */
+    public void reset(int rowCount, PageLoader loader) {
+        this.generation++;
+        this.rowCount = rowCount;
+        this.loader = loader;
+        pages.clear();
+        pageEnds.clear();
+        pending.clear();
+        fireTableDataChanged();
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columnNames[column];
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        int page = rowIndex / pageSize;
+        List<String[]> rows = pages.get(page);
+
+        // Prefetch the next page once the user is past the middle of this one
+        if (rowIndex % pageSize >= pageSize / 2 && (page + 1) * pageSize < rowCount) {
+            requestPage(page + 1);
+        }
+
+        if (rows == null) {
+            requestPage(page);
+            return columnIndex == 0 ? LOADING : "";
+        }
+        int offset = rowIndex % pageSize;
+        // The course may have shrunk since it was counted
+        return offset < rows.size() ? rows.get(offset)[columnIndex] : "";
+    }
+
+    /**
+     * Fetches a page in the background, walking forward from the nearest known
+     * cursor when the user has jumped past pages never fetched
+     */
+    private void requestPage(int page) {
+        if (loader == null || pages.containsKey(page) || !pending.add(page)) {
+            return;
+        }
+
+        int start = page;
+        while (start > 0 && !pageEnds.containsKey(start - 1)) {
+            start--;
+        }
+        String cursor = start > 0 ? pageEnds.get(start - 1) : null;
+
+        long requestGeneration = generation;
+        PageLoader requestLoader = loader;
+        int firstPage = start;
+        executor.execute(() -> {
+            String after = cursor;
+            for (int p = firstPage; p <= page; p++) {
+                List<String[]> rows = requestLoader.load(after, pageSize);
+                after = rows.isEmpty() ? after : rows.get(rows.size() - 1)[0];
+
+                int loadedPage = p;
+                String pageEnd = after;
+                SwingUtilities.invokeLater(() -> pageLoaded(requestGeneration, loadedPage, page, rows, pageEnd));
+                if (rows.size() < pageSize && p < page) {
+                    // Ran out of rows before the requested page; it is empty now
+                    String end = after;
+                    SwingUtilities.invokeLater(() -> pageLoaded(requestGeneration, page, page, Collections.emptyList(), end));
+                    break;
+                }
+            }
+        });
+    }
+
+    private void pageLoaded(long requestGeneration, int page, int requestedPage, List<String[]> rows, String pageEnd) {
+        if (requestGeneration != generation) {
+            return;
+        }
+        pageEnds.put(page, pageEnd);
+        if (page != requestedPage) {
+            // Only walked through to find the cursor; don't keep the rows
+            return;
+        }
+
+        pending.remove(page);
+        pages.put(page, rows);
+        Iterator<Integer> eldest = pages.keySet().iterator();
+        while (pages.size() > maxCachedPages && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+        }
+
+        int firstRow = page * pageSize;
+        int lastRow = Math.min(rowCount, firstRow + pageSize) - 1;
+        if (lastRow >= firstRow) {
+            fireTableRowsUpdated(firstRow, lastRow);
+        }
+    }
+
+    /**
+     * Stops the background loader; the model is unusable afterwards
+     */
+    public void dispose() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,36 @@
+/**
+ * Session class - One logged-in user's token
+ */
+class Session {
+    private final String token;
+    private final String username;
+    private final String userType;
+    private final long expiresAt;
+
+    Session(String token, String username, String userType, long expiresAt) {
+        this.token = token;
+        this.username = username;
+        this.userType = userType;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getUserType() {
+        return userType;
+    }
+
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    boolean isExpired(long now) {
+        return now >= expiresAt;
+    }
+}
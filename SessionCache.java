@@ -0,0 +1,111 @@
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SessionCache class - Short-lived in-memory session tokens issued at login
+ *
+ * A token stands in for a verified password until it expires, so repeated
+ * authenticated calls are a map lookup instead of another PBKDF2 run. Tokens
+ * are random, live for a fixed time from login (no sliding renewal) and are
+ * lost on restart, which only means logging in again.
+ */
+public class SessionCache {
+    private static final int TOKEN_BYTES = 32;
+
+    private final long ttlMillis;
+    private final int maxSessions;
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final SecureRandom random = new SecureRandom();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param ttlMillis   how long a token stays valid after login
+     * @param maxSessions live sessions kept; past this the soonest to expire are dropped
+     */
+    public SessionCache(long ttlMillis, int maxSessions) {
+        this.ttlMillis = ttlMillis;
+        this.maxSessions = maxSessions;
+    }
+
+    /**
+     * Issues a new token for a user whose password was just verified
+     */
+    public Session create(String username, String userType) {
+        if (sessions.size() >= maxSessions) {
+            evict();
+        }
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        Session session = new Session(token, username, userType, System.currentTimeMillis() + ttlMillis);
+        sessions.put(token, session);
+        return session;
+    }
+
+    /**
+     * Returns the live session for a token, or null if it is unknown or expired
+     */
+    public Session get(String token) {
+        Session session = token != null ? sessions.get(token) : null;
+        if (session != null && session.isExpired(System.currentTimeMillis())) {
+            sessions.remove(token, session);
+            session = null;
+        }
+        if (session != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return session;
+    }
+
+    public void invalidate(String token) {
+        if (token != null) {
+            sessions.remove(token);
+        }
+    }
+
+    /**
+     * Ends every session of a user, e.g. after a password change
+     */
+    public void invalidateUser(String username) {
+        sessions.values().removeIf(session -> session.getUsername().equals(username));
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Drops expired sessions, then the soonest-expiring ones until there is room for one more
+     */
+    private synchronized void evict() {
+        long now = System.currentTimeMillis();
+        sessions.values().removeIf(session -> session.isExpired(now));
+        while (sessions.size() >= maxSessions) {
+            Session soonest = null;
+            for (Session session : sessions.values()) {
+                if (soonest == null || session.getExpiresAt() < soonest.getExpiresAt()) {
+                    soonest = session;
+                }
+            }
+            if (soonest == null) {
+                break;
+            }
+            sessions.remove(soonest.getToken(), soonest);
+        }
+    }
+}
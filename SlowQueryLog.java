@@ -0,0 +1,110 @@
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.Instant;
+
+/**
+ * SlowQueryLog class - Size-rotated log of statements that ran over a threshold
+ *
+ * One line per statement: time, duration, rows, whether it failed, the
+ * calling thread and the masked SQL shape. When the file would grow past
+ * maxBytes it is renamed to .1 (shifting older files up to .maxFiles) and a
+ * new file is started. Writes are synchronized and flushed per line; slow
+ * statements are rare enough that this costs nothing on the fast path.
+ */
+public class SlowQueryLog implements Closeable {
+    private final Path file;
+    private final long maxBytes;
+    private final int maxFiles;
+
+    private Writer writer;
+    private long size;
+    private boolean failed;
+
+    /**
+     * @param maxBytes size at which the file is rotated
+     * @param maxFiles rotated files kept besides the current one
+     */
+    public SlowQueryLog(Path file, long maxBytes, int maxFiles) {
+        this.file = file;
+        this.maxBytes = maxBytes;
+        this.maxFiles = maxFiles;
+    }
+
+    /**
+     * Appends one entry; I/O errors are reported once and the entry is dropped
+     */
+    public synchronized void write(long nanos, long rows, boolean error, String shape) {
+        String line = String.format("%s\t%.3fms\trows=%d\t%s\t%s\t%s%n",
+            Instant.now(), nanos / 1e6, rows, error ? "error" : "ok", Thread.currentThread().getName(), shape);
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        try {
+            if (writer == null) {
+                open();
+            }
+            if (size > 0 && size + bytes.length > maxBytes) {
+                rotate();
+            }
+            writer.write(line);
+            writer.flush();
+            size += bytes.length;
+            failed = false;
+        } catch (IOException e) {
+            if (!failed) {
+                System.err.println("Error writing slow query log " + file + ": " + e.getMessage());
+                e.printStackTrace();
+                failed = true;
+            }
+            closeWriter();
+        }
+    }
+
+    private void open() throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        size = Files.size(file);
+    }
+
+    /**
+     * Shifts file.N-1 to file.N down to file to file.1, dropping the oldest, then reopens
+     */
+    private void rotate() throws IOException {
+        closeWriter();
+        if (maxFiles > 0) {
+            for (int i = maxFiles - 1; i >= 1; i--) {
+                Path older = rotated(i);
+                if (Files.exists(older)) {
+                    Files.move(older, rotated(i + 1), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            Files.move(file, rotated(1), StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.deleteIfExists(file);
+        }
+        open();
+    }
+
+    private Path rotated(int index) {
+        return file.resolveSibling(file.getFileName() + "." + index);
+    }
+
+    private void closeWriter() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                // Nothing more to flush
+            }
+            writer = null;
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        closeWriter();
+    }
+}
@@ -0,0 +1,37 @@
+import java.nio.file.Path;
+
+/**
+ * StoredBlob class - Result of storing a file in the BlobStore
+ */
+class StoredBlob {
+    private final String hash;
+    private final Path path;
+    private final long size;
+    private final boolean newlyStored;
+
+    StoredBlob(String hash, Path path, long size, boolean newlyStored) {
+        this.hash = hash;
+        this.path = path;
+        this.size = size;
+        this.newlyStored = newlyStored;
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * False when identical content was already in the store
+     */
+    public boolean isNewlyStored() {
+        return newlyStored;
+    }
+}
@@ -0,0 +1,337 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.*;
+import java.sql.SQLDataException;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.*;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * SubmissionLog class - Durable write-behind log for graded quiz submissions
+ *
+ * A submission is acknowledged once its record is fsync'd to a local append-only
+ * file; a background writer then drains records to the database in large batches.
+ * - Group commit: concurrent submitters share a single fsync
+ * - The file is truncated whenever the writer has caught up
+ * - recover() replays whatever is left after a crash; the database write must be
+ *   idempotent per submission id because a replayed record may already be stored
+ * - A record the database rejects outright is moved to a dead-letter file next to
+ *   the log instead of blocking everything behind it
+ * - The file is locked while open, so two processes never share one log
+ */
+public class SubmissionLog {
+    // Longest wait between retries while the database is unavailable
+    private static final long MAX_RETRY_BACKOFF_MILLIS = 60_000;
+
+    /**
+     * Writes a batch of graded submissions to the database in one transaction
+     */
+    public interface Sink {
+        void write(List<GradedSubmission> batch) throws SQLException;
+    }
+
+    private final Path logFile;
+    private final Path deadLetterFile;
+    private final Sink sink;
+    private final int maxBatchSize;
+    private final long drainIntervalMillis;
+
+    private final FileChannel channel;
+    private final LinkedBlockingQueue<GradedSubmission> pending = new LinkedBlockingQueue<>();
+
+    // Guards channel writes and truncation; never taken while holding syncLock
+    private final Object writeLock = new Object();
+    // Guards fsync; held separately so submitters can keep appending while one of them syncs
+    private final Object syncLock = new Object();
+    // File offset of the next record, reset by truncation
+    private long writtenPosition;
+    // Bytes ever appended and bytes known to be on disk; these never reset, so
+    // truncation needs no syncLock. appendedBytes is only written under writeLock.
+    private volatile long appendedBytes;
+    private long syncedBytes;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public SubmissionLog(Path logFile, Sink sink, int maxBatchSize, long drainIntervalMillis) throws IOException {
+        this.logFile = logFile;
+        this.deadLetterFile = logFile.resolveSibling(logFile.getFileName() + ".dead");
+        this.sink = sink;
+        this.maxBatchSize = maxBatchSize;
+        this.drainIntervalMillis = drainIntervalMillis;
+
+        if (logFile.getParent() != null) {
+            Files.createDirectories(logFile.getParent());
+        }
+        this.channel = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        // Held until the channel closes
+        FileLock lock;
+        try {
+            lock = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            lock = null;
+        }
+        if (lock == null) {
+            channel.close();
+            throw new IOException("Submission log " + logFile + " is already in use");
+        }
+    }
+
+    /**
+     * Replays records left in the log by a previous run into the database,
+     * dropping a torn record at the tail, then empties the log
+     *
+     * @return the number of submissions replayed
+     */
+    public int recover() throws IOException, SQLException {
+        synchronized (writeLock) {
+            List<GradedSubmission> records = new ArrayList<>();
+            long validEnd = readRecords(records);
+            if (validEnd < channel.size()) {
+                System.err.println("Submission log " + logFile + " has a torn record at offset " + validEnd + ", discarding the tail");
+            }
+
+            for (int start = 0; start < records.size(); start += maxBatchSize) {
+                writeSplitting(records.subList(start, Math.min(start + maxBatchSize, records.size())));
+            }
+
+            channel.truncate(0);
+            channel.force(true);
+            writtenPosition = 0;
+            return records.size();
+        }
+    }
+
+    /**
+     * Reads every intact record from the start of the file
+     *
+     * @return the offset just past the last intact record
+     */
+    private long readRecords(List<GradedSubmission> records) throws IOException {
+        long position = 0;
+        long size = channel.size();
+        ByteBuffer header = ByteBuffer.allocate(4);
+
+        while (position + 4 <= size) {
+            header.clear();
+            channel.read(header, position);
+            header.flip();
+            int length = header.getInt();
+            if (length <= 0 || position + 4 + length + 8 > size) {
+                break;
+            }
+
+            ByteBuffer body = ByteBuffer.allocate(length + 8);
+            while (body.hasRemaining() && channel.read(body, position + 4 + body.position()) > 0) {
+                // keep reading
+            }
+            body.flip();
+            byte[] payload = new byte[length];
+            body.get(payload);
+            long expectedCrc = body.getLong();
+
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            if (crc.getValue() != expectedCrc) {
+                break;
+            }
+
+            records.add(GradedSubmission.decode(payload));
+            position += 4 + length + 8;
+        }
+        return position;
+    }
+
+    /**
+     * Starts the background writer that drains the log to the database
+     */
+    public void start() {
+        running = true;
+        writer = new Thread(this::drainLoop, "lms-submission-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Appends a submission and returns once it is durable on disk
+     */
+    public void append(GradedSubmission submission) throws IOException {
+        ByteBuffer record = frame(submission);
+
+        long endBytes;
+        synchronized (writeLock) {
+            if (!running) {
+                throw new IOException("Submission log is closed");
+            }
+            while (record.hasRemaining()) {
+                channel.write(record, writtenPosition + record.position());
+            }
+            writtenPosition += record.limit();
+            appendedBytes += record.limit();
+            endBytes = appendedBytes;
+            pending.add(submission);
+        }
+
+        // Group commit: one fsync covers every record written before it started
+        synchronized (syncLock) {
+            if (syncedBytes < endBytes) {
+                long target = appendedBytes;
+                channel.force(false);
+                syncedBytes = target;
+            }
+        }
+    }
+
+    /**
+     * Frames a record as length, payload and CRC32 of the payload
+     */
+    private static ByteBuffer frame(GradedSubmission submission) {
+        byte[] payload = submission.encode();
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        ByteBuffer record = ByteBuffer.allocate(4 + payload.length + 8);
+        record.putInt(payload.length);
+        record.put(payload);
+        record.putLong(crc.getValue());
+        record.flip();
+        return record;
+    }
+
+    private void drainLoop() {
+        List<GradedSubmission> batch = new ArrayList<>(maxBatchSize);
+        long backoffMillis = 0;
+        while (running || !pending.isEmpty()) {
+            try {
+                if (batch.isEmpty()) {
+                    GradedSubmission first = pending.poll(drainIntervalMillis, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    pending.drainTo(batch, maxBatchSize - 1);
+                }
+
+                writeSplitting(batch);
+                batch.clear();
+                truncateIfDrained();
+                backoffMillis = 0;
+            } catch (InterruptedException e) {
+                // close() interrupts to wake us; keep draining until pending is empty
+            } catch (SQLException | IOException e) {
+                // Keep the batch and retry, backing off while the database stays unavailable;
+                // the records are safe in the log meanwhile
+                backoffMillis = backoffMillis == 0
+                    ? Math.max(drainIntervalMillis, 1000)
+                    : Math.min(backoffMillis * 2, MAX_RETRY_BACKOFF_MILLIS);
+                System.err.println("Error draining submission log (" + (batch.size() + pending.size())
+                    + " pending), retrying in " + backoffMillis + " ms: " + e.getMessage());
+                try {
+                    Thread.sleep(backoffMillis);
+                } catch (InterruptedException ignored) {
+                    if (!running) {
+                        // Leave the rest in the log for recovery on the next start
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes a batch, halving it whenever the database rejects it so one bad
+     * record can't hold back the rest; a single rejected record is dead-lettered.
+     * Halves already written are skipped on retry, since writes are idempotent.
+     */
+    private void writeSplitting(List<GradedSubmission> batch) throws SQLException, IOException {
+        try {
+            sink.write(batch);
+        } catch (SQLException e) {
+            if (!isRejection(e)) {
+                throw e;
+            }
+            if (batch.size() == 1) {
+                deadLetter(batch.get(0), e);
+                return;
+            }
+            int middle = batch.size() / 2;
+            writeSplitting(batch.subList(0, middle));
+            writeSplitting(batch.subList(middle, batch.size()));
+        }
+    }
+
+    /**
+     * True for errors caused by the data itself (SQLSTATE class 22 or 23),
+     * which retrying the same records can never fix
+     */
+    private static boolean isRejection(SQLException e) {
+        String state = e.getSQLState();
+        return e instanceof SQLIntegrityConstraintViolationException || e instanceof SQLDataException
+            || (state != null && (state.startsWith("22") || state.startsWith("23")));
+    }
+
+    /**
+     * Appends a rejected record to the dead-letter file, in the same format as the log
+     */
+    private void deadLetter(GradedSubmission submission, SQLException cause) throws IOException {
+        try (FileChannel deadLetters = FileChannel.open(deadLetterFile,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer record = frame(submission);
+            while (record.hasRemaining()) {
+                deadLetters.write(record);
+            }
+            deadLetters.force(false);
+        }
+        System.err.println("Submission " + submission.getSubmissionId() + " by " + submission.getUsername()
+            + " was rejected by the database, moved to " + deadLetterFile + ": " + cause.getMessage());
+    }
+
+    /**
+     * Empties the log once everything appended has reached the database
+     */
+    private void truncateIfDrained() throws IOException {
+        synchronized (writeLock) {
+            if (!pending.isEmpty() || writtenPosition == 0) {
+                return;
+            }
+            channel.truncate(0);
+            writtenPosition = 0;
+        }
+    }
+
+    /**
+     * Number of acknowledged submissions not yet written to the database
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Stops accepting submissions and drains what is left before closing the file
+     */
+    public void close() {
+        synchronized (writeLock) {
+            running = false;
+        }
+        if (writer != null) {
+            writer.interrupt();
+            try {
+                writer.join(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            System.err.println("Error closing submission log: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,14 @@
+/**
+ * UploadFinishedEvent class - An upload job completed or failed
+ */
+class UploadFinishedEvent implements LMSEvent {
+    private final UploadJob job;
+
+    UploadFinishedEvent(UploadJob job) {
+        this.job = job;
+    }
+
+    public UploadJob getJob() {
+        return job;
+    }
+}
@@ -0,0 +1,102 @@
+import java.io.File;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * UploadJob class - Status and working state of one upload in the pipeline
+ */
+class UploadJob {
+    enum Status { QUEUED, STORING, EXTRACTING, GENERATING, PERSISTING, COMPLETED, FAILED }
+
+    private final long id;
+    private final String courseName;
+    private final File file;
+    private final long submittedAt = System.currentTimeMillis();
+    private volatile Status status = Status.QUEUED;
+    private volatile String error;
+    private volatile long finishedAt;
+    private volatile int quizCount;
+
+    // Working state handed from stage to stage
+    volatile int courseId;
+    volatile int materialId;
+    volatile Path storedPath;
+    volatile String contentHash;
+    // Identical content was already processed for this course, so later stages are skipped
+    volatile boolean alreadyProcessed;
+    volatile String text;
+    volatile List<Quiz> quizzes;
+
+    UploadJob(long id, String courseName, File file) {
+        this.id = id;
+        this.courseName = courseName;
+        this.file = file;
+    }
+
+    void setStatus(Status status) {
+        this.status = status;
+    }
+
+    void setQuizCount(int quizCount) {
+        this.quizCount = quizCount;
+    }
+
+    void finish(Status status, String error) {
+        this.error = error;
+        this.finishedAt = System.currentTimeMillis();
+        // Drop the large intermediate state once the job is done
+        this.text = null;
+        this.quizzes = null;
+        this.status = status;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getCourseName() {
+        return courseName;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public boolean isDone() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public int getQuizCount() {
+        return quizCount;
+    }
+
+    public int getMaterialId() {
+        return materialId;
+    }
+
+    public boolean isAlreadyProcessed() {
+        return alreadyProcessed;
+    }
+
+    public long getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public long getFinishedAt() {
+        return finishedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "UploadJob[" + id + ", " + courseName + "/" + file.getName() + ", " + status +
+            (error != null ? ", error=" + error : "") + "]";
+    }
+}
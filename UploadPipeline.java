@@ -0,0 +1,195 @@
+import java.io.File;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * UploadPipeline class - Staged, asynchronous processing of uploaded materials
+ *
+ * An upload moves through four stages, each with its own worker threads and
+ * bounded work queue: store -> extract -> generate -> persist.
+ * - Submitting never blocks: if the store queue is full the job fails immediately
+ * - Later stages apply backpressure by blocking the previous stage's worker
+ * - Every job gets an id whose status can be polled, and listeners are told when it finishes
+ */
+public class UploadPipeline {
+    /**
+     * One step of the pipeline, run against the job's accumulated state
+     */
+    public interface Stage {
+        void run(UploadJob job) throws Exception;
+    }
+
+    /**
+     * Notified on a pipeline thread when a job completes or fails
+     */
+    public interface Listener {
+        void uploadFinished(UploadJob job);
+    }
+
+    // Finished jobs kept around for status queries
+    private static final int MAX_FINISHED_JOBS = 1000;
+
+    private final Stage store;
+    private final Stage extract;
+    private final Stage generate;
+    private final Stage persist;
+
+    private final ThreadPoolExecutor storeExecutor;
+    private final ThreadPoolExecutor extractExecutor;
+    private final ThreadPoolExecutor generateExecutor;
+    private final ThreadPoolExecutor persistExecutor;
+
+    private final AtomicLong nextJobId = new AtomicLong(1);
+    private final ConcurrentHashMap<Long, UploadJob> jobs = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Long> finishedJobIds = new ConcurrentLinkedQueue<>();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    public UploadPipeline(Stage store, Stage extract, Stage generate, Stage persist,
+                          int storeThreads, int extractThreads, int generateThreads, int persistThreads,
+                          int queueCapacity) {
+        this.store = store;
+        this.extract = extract;
+        this.generate = generate;
+        this.persist = persist;
+
+        // The first stage rejects when full so callers find out right away
+        this.storeExecutor = newStageExecutor("store", storeThreads, queueCapacity, new ThreadPoolExecutor.AbortPolicy());
+        // Later stages block the upstream worker until there is room
+        RejectedExecutionHandler blockUpstream = (task, executor) -> {
+            if (executor.isShutdown()) {
+                throw new RejectedExecutionException("Upload pipeline is shut down");
+            }
+            try {
+                executor.getQueue().put(task);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException("Interrupted while handing off upload", e);
+            }
+        };
+        this.extractExecutor = newStageExecutor("extract", extractThreads, queueCapacity, blockUpstream);
+        this.generateExecutor = newStageExecutor("generate", generateThreads, queueCapacity, blockUpstream);
+        this.persistExecutor = newStageExecutor("persist", persistThreads, queueCapacity, blockUpstream);
+    }
+
+    private static ThreadPoolExecutor newStageExecutor(String stageName, int threads, int queueCapacity,
+                                                       RejectedExecutionHandler rejectionHandler) {
+        AtomicLong threadCount = new AtomicLong();
+        return new ThreadPoolExecutor(
+            threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            r -> {
+                Thread t = new Thread(r, "lms-upload-" + stageName + "-" + threadCount.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            },
+            rejectionHandler
+        );
+    }
+
+    /**
+     * Queues an upload and returns its job. The job is already FAILED if the pipeline is saturated.
+     */
+    public UploadJob submit(String courseName, File file) {
+        UploadJob job = new UploadJob(nextJobId.getAndIncrement(), courseName, file);
+        jobs.put(job.getId(), job);
+
+        try {
+            storeExecutor.execute(() -> runStage(job, UploadJob.Status.STORING, store, extractExecutor,
+                () -> runStage(job, UploadJob.Status.EXTRACTING, extract, generateExecutor,
+                    () -> runStage(job, UploadJob.Status.GENERATING, generate, persistExecutor,
+                        () -> runStage(job, UploadJob.Status.PERSISTING, persist, null, null)))));
+        } catch (RejectedExecutionException e) {
+            fail(job, "Upload queue is full, please try again shortly");
+        }
+        return job;
+    }
+
+    /**
+     * Runs one stage and hands the job to the next one, or finishes it
+     */
+    private void runStage(UploadJob job, UploadJob.Status status, Stage stage,
+                          Executor nextExecutor, Runnable nextStage) {
+        job.setStatus(status);
+        try {
+            stage.run(job);
+        } catch (Exception e) {
+            System.err.println("Upload job " + job.getId() + " failed while " + status.name().toLowerCase() + ": " + e.getMessage());
+            e.printStackTrace();
+            fail(job, e.getMessage() != null ? e.getMessage() : e.toString());
+            return;
+        }
+
+        if (nextStage == null) {
+            finish(job, UploadJob.Status.COMPLETED, null);
+            return;
+        }
+        try {
+            nextExecutor.execute(nextStage);
+        } catch (RejectedExecutionException e) {
+            fail(job, e.getMessage());
+        }
+    }
+
+    private void fail(UploadJob job, String error) {
+        finish(job, UploadJob.Status.FAILED, error);
+    }
+
+    private void finish(UploadJob job, UploadJob.Status status, String error) {
+        job.finish(status, error);
+
+        finishedJobIds.add(job.getId());
+        while (finishedJobIds.size() > MAX_FINISHED_JOBS) {
+            Long oldest = finishedJobIds.poll();
+            if (oldest != null) {
+                jobs.remove(oldest);
+            }
+        }
+
+        for (Listener listener : listeners) {
+            try {
+                listener.uploadFinished(job);
+            } catch (RuntimeException e) {
+                System.err.println("Upload listener failed: " + e.getMessage());
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Returns the job with the given id, or null if it is unknown or long finished
+     */
+    public UploadJob getJob(long jobId) {
+        return jobs.get(jobId);
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Number of jobs waiting in each stage's queue: store, extract, generate, persist
+     */
+    public int[] getQueueDepths() {
+        return new int[]{
+            storeExecutor.getQueue().size(),
+            extractExecutor.getQueue().size(),
+            generateExecutor.getQueue().size(),
+            persistExecutor.getQueue().size()
+        };
+    }
+
+    /**
+     * Stops accepting uploads; jobs already queued are abandoned
+     */
+    public void shutdown() {
+        storeExecutor.shutdownNow();
+        extractExecutor.shutdownNow();
+        generateExecutor.shutdownNow();
+        persistExecutor.shutdownNow();
+    }
+}
@@ -1,8 +1,11 @@
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
 import java.sql.*;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.awt.Desktop;
 
 /**
@@ -10,42 +13,153 @@ import java.awt.Desktop;
  * - Model: Data and business logic
  * 
  * Design Patterns:
- * - Singleton: Single database connection
+ * - Singleton: Single shared database connection pool
  * - Factory: Quiz generation
  * - DAO: Data Access Objects for database operations
  * - Strategy: Different quiz generation strategies
  */
 public class backend {
-    // Singleton instance for database connection
-    private static Connection conn;
+    // Singleton connection pool shared by every backend instance
+    private static volatile ConnectionPool pool;
+    
+    // Open backend instances; the pool and submission log close with the last one
+    private static int openInstances;
+    
+    // Answer keys for grading, shared like the pool so every instance sees invalidations
+    private static final AnswerKeyCache answerKeyCache = new AnswerKeyCache();
+    
+    // Per-course quiz snapshots shared by every reader
+    private static final QuizSetCache quizSetCache = new QuizSetCache();
+    
+    // Course name <-> id lookups, loaded at startup
+    private static final CourseRegistry courseRegistry = new CourseRegistry();
+    
+    // Durable write-behind log for quiz submissions; null when submissions are written synchronously
+    private static SubmissionLog submissionLog;
+    
+    // Salted PBKDF2 password hashing on its own bounded pool; the iteration count is the adaptive cost
+    private static final PasswordHasher passwordHasher = new PasswordHasher(
+        envInt("LMS_PASSWORD_ITERATIONS", 600000),
+        envInt("LMS_PASSWORD_THREADS", Math.max(1, Runtime.getRuntime().availableProcessors() / 2)),
+        envInt("LMS_PASSWORD_QUEUE_CAPACITY", 200)
+    );
+    private static final AtomicBoolean legacyPasswordUpgradeStarted = new AtomicBoolean();
+    
+    // Session tokens issued at login, so authenticated calls skip password verification
+    private static final SessionCache sessionCache = new SessionCache(
+        envInt("LMS_SESSION_TTL_SECONDS", 900) * 1000L,
+        envInt("LMS_SESSION_MAX", 10000)
+    );
+    
+    // Calls, errors, rows and latency for every public operation
+    private static final MetricsRegistry metrics = new MetricsRegistry("lms_backend");
+    private static final OperationMetrics REGISTER_USER = metrics.operation("registerUser");
+    private static final OperationMetrics LOGIN_USER = metrics.operation("loginUser");
+    private static final OperationMetrics UPLOAD_MATERIAL = metrics.operation("uploadMaterial");
+    private static final OperationMetrics SUBMIT_UPLOAD = metrics.operation("submitUpload");
+    private static final OperationMetrics GET_MATERIAL_TEXT = metrics.operation("getMaterialText");
+    private static final OperationMetrics IMPORT_QUIZZES = metrics.operation("importQuizzes");
+    private static final OperationMetrics GET_COURSES = metrics.operation("getCourses");
+    private static final OperationMetrics GET_COURSE_MATERIALS = metrics.operation("getCourseMaterials");
+    private static final OperationMetrics GET_COURSE_QUIZ_SET = metrics.operation("getCourseQuizSet");
+    private static final OperationMetrics SUBMIT_QUIZ_ANSWERS = metrics.operation("submitQuizAnswers");
+    private static final OperationMetrics WRITE_SUBMISSIONS = metrics.operation("writeSubmissions");
+    private static final OperationMetrics GET_STUDENT_SCORES = metrics.operation("getStudentScores");
+    private static final OperationMetrics GET_STUDENT_SCORES_PAGE = metrics.operation("getStudentScoresPage");
+    private static final OperationMetrics COUNT_STUDENT_SCORES = metrics.operation("countStudentScores");
+    private static final OperationMetrics GET_STUDENT_SCORE_HISTORY = metrics.operation("getStudentScoreHistory");
+    private static final OperationMetrics OPEN_PDF = metrics.operation("openPDF");
+    
+    // Hot read queries, shared with the startup query plan check
+    private static final String COURSE_QUIZZES_SQL =
+        "SELECT id, question, option_a, option_b, option_c, option_d, correct_answer " +
+        "FROM quizzes WHERE course_id = ? ORDER BY id";
+    private static final String COURSE_ANSWER_KEY_SQL =
+        "SELECT id, correct_answer FROM quizzes WHERE course_id = ?";
+    private static final String COURSE_SCORES_SQL =
+        "SELECT username, total_questions, correct_answers, latest_submission " +
+        "FROM score_aggregates " +
+        "WHERE course_id = ? AND latest_submission IS NOT NULL " +
+        "ORDER BY username";
+    private static final String COURSE_SCORES_PAGE_SQL =
+        "SELECT username, total_questions, correct_answers, latest_submission " +
+        "FROM score_aggregates " +
+        "WHERE course_id = ? AND latest_submission IS NOT NULL AND username > ? " +
+        "ORDER BY username LIMIT ?";
+    private static final String SCORE_HISTORY_SQL =
+        "SELECT course_id, total_questions, correct_answers, latest_submission " +
+        "FROM score_aggregates " +
+        "WHERE username = ? AND latest_submission IS NOT NULL " +
+        "ORDER BY latest_submission DESC";
+    
+    // Rows per JDBC batch when bulk inserting quizzes
+    private static final int QUIZ_BATCH_SIZE = 500;
     
     // Factory for quiz generation
     private QuizFactory quizFactory;
     
+    // Content-addressed storage for uploaded files
+    private final BlobStore blobStore = new BlobStore(Paths.get("course_uploads", "blobs"));
+    
+    // Characters of extracted text handed to quiz generation
+    private static final int GENERATION_TEXT_CHARS = 64 * 1024;
+    
+    // Below this much text a PDF is treated as having no extractable text
+    private static final int MIN_EXTRACTED_CHARS = 200;
+    
+    // Streaming PDF text extraction with its own worker threads and time budget
+    private final PdfTextExtractor pdfTextExtractor = new PdfTextExtractor(
+        envInt("LMS_PDF_EXTRACT_THREADS", 2),
+        envInt("LMS_PDF_TIME_BUDGET_MS", 60000),
+        envInt("LMS_PDF_MAX_STREAM_BYTES", 16 * 1024 * 1024)
+    );
+    
+    // Extracted text by content hash: LRU in memory, gzip on disk
+    private final ExtractedTextCache extractedTextCache = new ExtractedTextCache(
+        Paths.get("course_uploads", "text"),
+        envInt("LMS_TEXT_CACHE_MEMORY_BYTES", 32 * 1024 * 1024),
+        GENERATION_TEXT_CHARS
+    );
+    
+    // Background store -> extract -> generate -> persist pipeline for uploads
+    private UploadPipeline uploadPipeline;
+    
+    private final AtomicBoolean closed = new AtomicBoolean();
+    
     /**
-     * Constructor - initializes database connection and quiz factory
+     * Constructor - initializes the connection pool, quiz factory and upload pipeline
      */
     public backend() {
+        // Initialize quiz factory (Factory pattern)
+        quizFactory = new QuizFactory();
+        
+        // Stage parallelism and queue sizes can be tuned through the environment
+        uploadPipeline = new UploadPipeline(
+            this::storeMaterial, this::extractMaterialText, this::generateMaterialQuizzes, this::persistMaterialQuizzes,
+            envInt("LMS_UPLOAD_STORE_THREADS", 2),
+            envInt("LMS_UPLOAD_EXTRACT_THREADS", 2),
+            envInt("LMS_UPLOAD_GENERATE_THREADS", 1),
+            envInt("LMS_UPLOAD_PERSIST_THREADS", 1),
+            envInt("LMS_UPLOAD_QUEUE_CAPACITY", 50)
+        );
+        
+        synchronized (backend.class) {
+            openInstances++;
+        }
+        
         try {
-            // Initialize database connection (Singleton pattern)
-            if (conn == null || conn.isClosed()) {
-                String host = System.getenv("MYSQL_HOST") != null ? System.getenv("MYSQL_HOST") : "localhost";
-                String database = System.getenv("MYSQL_DATABASE") != null ? System.getenv("MYSQL_DATABASE") : "LMS";
-                String user = System.getenv("MYSQL_USER") != null ? System.getenv("MYSQL_USER") : "root";
-                String password = System.getenv("MYSQL_PASSWORD") != null ? System.getenv("MYSQL_PASSWORD") : "swathi2004";
-                int port = 3306;
-                
-                conn = DriverManager.getConnection(
-                    "jdbc:mysql://" + host + ":" + port + "/" + database, user, password
-                );
-            }
-            
-            // Initialize quiz factory (Factory pattern)
-            quizFactory = new QuizFactory();
+            // Initialize connection pool (Singleton pattern)
+            initializePool();
             
             // Initialize database tables if they don't exist
             initializeDatabase();
             
+            // Replay any submissions left over from a crash before accepting new ones
+            initializeSubmissionLog(this);
+            
+            // Hash passwords stored in plaintext by earlier versions
+            upgradeLegacyPasswords();
+            
             System.out.println("Database connected successfully!");
         } catch (SQLException e) {
             System.err.println("Database connection failed: " + e.getMessage());
@@ -54,593 +168,1576 @@ public class backend {
     }
     
     /**
-     * Initializes database tables if they don't exist
+     * Opens the write-behind submission log when LMS_WRITE_BEHIND=true.
+     * The log lives at LMS_SUBMISSION_LOG (default data/submissions.log) and is
+     * drained in batches of LMS_SUBMISSION_BATCH_SIZE every LMS_SUBMISSION_DRAIN_MS.
+     * Records the database rejects are moved to the same path with a .dead suffix.
      */
-    private void initializeDatabase() {
+    private static synchronized void initializeSubmissionLog(backend owner) throws SQLException {
+        if (submissionLog != null || !"true".equalsIgnoreCase(System.getenv("LMS_WRITE_BEHIND"))) {
+            return;
+        }
+        
+        String logPath = System.getenv("LMS_SUBMISSION_LOG") != null
+            ? System.getenv("LMS_SUBMISSION_LOG") : "data/submissions.log";
+        SubmissionLog log = null;
         try {
-            Statement stmt = conn.createStatement();
-            
-            // Create users table if it doesn't exist (preserve user data)
-            stmt.execute(
-                "CREATE TABLE IF NOT EXISTS users (" +
-                "id INT AUTO_INCREMENT PRIMARY KEY, " +
-                "username VARCHAR(50) NOT NULL UNIQUE, " +
-                "password VARCHAR(255) NOT NULL, " +
-                "userType ENUM('Professor', 'Student') NOT NULL" +
-                ")"
+            log = new SubmissionLog(
+                Paths.get(logPath), owner::writeSubmissions,
+                envInt("LMS_SUBMISSION_BATCH_SIZE", 500),
+                envInt("LMS_SUBMISSION_DRAIN_MS", 200)
             );
+            int replayed = log.recover();
+            if (replayed > 0) {
+                System.out.println("Replayed " + replayed + " submissions from " + logPath);
+            }
+            log.start();
+            submissionLog = log;
+        } catch (IOException e) {
+            // Fall back to synchronous writes rather than refusing submissions,
+            // including when another process already holds the log
+            System.err.println("Error opening submission log, writing submissions synchronously: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            if (log != null && submissionLog != log) {
+                // Release the file lock
+                log.close();
+            }
+        }
+    }
+    
+    /**
+     * Creates the shared connection pool on first use.
+     * Pool sizing can be tuned with LMS_POOL_MIN_SIZE, LMS_POOL_MAX_SIZE,
+     * LMS_POOL_ACQUIRE_TIMEOUT_MS, LMS_POOL_IDLE_TIMEOUT_MS and LMS_POOL_VALIDATION_IDLE_MS.
+     */
+    private static synchronized void initializePool() throws SQLException {
+        if (pool != null) {
+            return;
+        }
+        
+        // LMS_JDBC_URL overrides the MySQL settings, e.g. to point benchmarks at a local database
+        String jdbcUrl = System.getenv("LMS_JDBC_URL");
+        String host = System.getenv("MYSQL_HOST") != null ? System.getenv("MYSQL_HOST") : "localhost";
+        String database = System.getenv("MYSQL_DATABASE") != null ? System.getenv("MYSQL_DATABASE") : "LMS";
+        String user = System.getenv("MYSQL_USER") != null ? System.getenv("MYSQL_USER") : "root";
+        String password = System.getenv("MYSQL_PASSWORD") != null ? System.getenv("MYSQL_PASSWORD") : "swathi2004";
+        int port = 3306;
+        
+        ConnectionPool newPool = new ConnectionPool(
+            // rewriteBatchedStatements lets the driver send a JDBC batch as one multi-row INSERT;
+            // server-side prepared statements are parsed once per connection and reused through the statement cache
+            jdbcUrl != null ? jdbcUrl : "jdbc:mysql://" + host + ":" + port + "/" + database
+                + "?rewriteBatchedStatements=true&useServerPrepStmts=true",
+            user, password,
+            envInt("LMS_POOL_MIN_SIZE", 2),
+            envInt("LMS_POOL_MAX_SIZE", 10),
+            envInt("LMS_POOL_ACQUIRE_TIMEOUT_MS", 5000),
+            envInt("LMS_POOL_IDLE_TIMEOUT_MS", 300000)
+        );
+        
+        // Skip the isValid() round trip for connections that were in use moments ago
+        newPool.setValidationIdleMillis(envInt("LMS_POOL_VALIDATION_IDLE_MS", 5000));
+        
+        // Hot statements stay prepared on each connection; LMS_STATEMENT_CACHE_SIZE=0 turns this off
+        newPool.setStatementCacheSize(envInt("LMS_STATEMENT_CACHE_SIZE", 64));
+        
+        // Time every statement by SQL shape; ones over LMS_SLOW_QUERY_MS also go to the slow query log
+        if (!"false".equalsIgnoreCase(System.getenv("LMS_STATEMENT_TIMING"))) {
+            String slowLogPath = System.getenv("LMS_SLOW_QUERY_LOG") != null
+                ? System.getenv("LMS_SLOW_QUERY_LOG") : "logs/slow-queries.log";
+            newPool.setQueryStats(new QueryStats(
+                envInt("LMS_SLOW_QUERY_MS", 200),
+                new SlowQueryLog(Paths.get(slowLogPath),
+                    envInt("LMS_SLOW_QUERY_LOG_MAX_BYTES", 10 * 1024 * 1024),
+                    envInt("LMS_SLOW_QUERY_LOG_FILES", 5))
+            ));
+        }
+        try {
+            newPool.warmUp();
+        } catch (SQLException e) {
+            newPool.close();
+            throw e;
+        }
+        pool = newPool;
+    }
+    
+    /**
+     * Reads an integer setting from the environment, falling back to a default
+     */
+    private static int envInt(String name, int defaultValue) {
+        String value = System.getenv(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            System.err.println("Ignoring invalid value for " + name + ": " + value);
+            return defaultValue;
+        }
+    }
+    
+    /**
+     * Borrows a connection from the shared pool. Fails with an SQLException, like
+     * any other database error, when the pool couldn't be opened or has been closed.
+     */
+    private static Connection borrowConnection() throws SQLException {
+        ConnectionPool current = pool;
+        if (current == null) {
+            throw new SQLException("Database connection pool is not open");
+        }
+        return current.getConnection();
+    }
+    
+    /**
+     * Returns the shared connection pool, e.g. for reading pool metrics
+     */
+    public static ConnectionPool getConnectionPool() {
+        return pool;
+    }
+    
+    /**
+     * Returns the quiz set cache, e.g. for reading hit/miss counters
+     */
+    public static QuizSetCache getQuizSetCache() {
+        return quizSetCache;
+    }
+    
+    /**
+     * Returns the grading answer-key cache, e.g. for reading hit/miss counters
+     */
+    public static AnswerKeyCache getAnswerKeyCache() {
+        return answerKeyCache;
+    }
+    
+    /**
+     * Returns the per-operation metrics, e.g. for the HTTP metrics endpoint
+     */
+    public static MetricsRegistry getMetrics() {
+        return metrics;
+    }
+    
+    /**
+     * Brings the schema up to date and seeds the built-in quizzes.
+     * Existing data is never dropped: migrations only run when the schema is behind,
+     * and seeding is skipped when the stored checksum already matches QuizQuestions.
+     */
+    private void initializeDatabase() {
+        try (Connection conn = borrowConnection()) {
+            int version = SchemaMigrations.migrate(conn);
+            courseRegistry.load(conn);
+            
+            String seedChecksum = QuizQuestions.checksum();
+            if (!seedChecksum.equals(SchemaMigrations.readSetting(conn, "quiz_seed_checksum"))) {
+                seedQuizzes(conn);
+                SchemaMigrations.writeSetting(conn, "quiz_seed_checksum", seedChecksum);
+                
+                // Quizzes were reseeded, so any cached answer keys and quiz sets are stale
+                answerKeyCache.invalidateAll();
+                quizSetCache.invalidateAll();
+            }
             
-            // Create courses table if it doesn't exist
-            stmt.execute(
-                "CREATE TABLE IF NOT EXISTS courses (" +
-                "id INT AUTO_INCREMENT PRIMARY KEY, " +
-                "courseName VARCHAR(100) NOT NULL UNIQUE" +
-                ")"
-            );
+            checkQueryPlans(conn);
             
-            // Create materials table if it doesn't exist
-            stmt.execute(
-                "CREATE TABLE IF NOT EXISTS materials (" +
-                "id INT AUTO_INCREMENT PRIMARY KEY, " +
-                "course_id INT NOT NULL, " +
-                "fileName VARCHAR(255) NOT NULL, " +
-                "filePath VARCHAR(255) NOT NULL, " +
-                "uploadDate TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
-                "FOREIGN KEY (course_id) REFERENCES courses(id)" +
-                ")"
+            System.out.println("Database initialized successfully! (schema version " + version + ")");
+        } catch (SQLException e) {
+            System.err.println("Error initializing database: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+    
+    /**
+     * Warns at startup if any hot query would fall back to a full table scan
+     */
+    private void checkQueryPlans(Connection conn) {
+        new QueryPlanCheck()
+            .add("course quizzes", COURSE_QUIZZES_SQL, 1)
+            .add("course scores", COURSE_SCORES_SQL, 1)
+            .add("course scores page", COURSE_SCORES_PAGE_SQL, 1, "", 100)
+            .add("score history", SCORE_HISTORY_SQL, "student")
+            .add("course answer key", COURSE_ANSWER_KEY_SQL, 1)
+            .add("answered questions",
+                "SELECT DISTINCT username, course_id, quiz_id FROM quiz_submissions " +
+                "WHERE (username, course_id) IN ((?, ?)) AND quiz_id IN (?)", "student", 1, 1)
+            .add("stored submissions",
+                "SELECT DISTINCT submission_id FROM quiz_submissions WHERE submission_id IN (?)", "")
+            .run(conn);
+    }
+    
+    /**
+     * Inserts the default courses and any built-in questions they are missing.
+     * Each course is seeded with one batched statement. Questions already present
+     * keep their row, so reseeding never duplicates rows or touches history, but
+     * a corrected option or answer is written to that row in place.
+     */
+    private void seedQuizzes(Connection conn) throws SQLException {
+        String[] courseNames = {"OOAD", "Cloud Computing", "Computer Design", "GENAI", "Robotics"};
+        
+        conn.setAutoCommit(false);
+        try {
+            // Initialize courses if they don't exist
+            PreparedStatement courseStmt = conn.prepareStatement(
+                "INSERT IGNORE INTO courses (courseName) VALUES (?)"
             );
+            for (String courseName : courseNames) {
+                courseStmt.setString(1, courseName);
+                courseStmt.addBatch();
+            }
+            courseStmt.executeBatch();
+            courseStmt.close();
             
-            // Drop and recreate quiz-related tables
-            stmt.execute("DROP TABLE IF EXISTS quiz_submissions");
-            stmt.execute("DROP TABLE IF EXISTS quizzes");
-            
-            // Create quizzes table with proper structure
-            stmt.execute(
-                "CREATE TABLE IF NOT EXISTS quizzes (" +
-                "id INT AUTO_INCREMENT PRIMARY KEY, " +
-                "course_id INT NOT NULL, " +
-                "question TEXT NOT NULL, " +
-                "option_a TEXT NOT NULL, " +
-                "option_b TEXT NOT NULL, " +
-                "option_c TEXT NOT NULL, " +
-                "option_d TEXT NOT NULL, " +
-                "correct_answer CHAR(1) NOT NULL, " +
-                "FOREIGN KEY (course_id) REFERENCES courses(id)" +
-                ")"
+            PreparedStatement existingStmt = conn.prepareStatement(
+                "SELECT id, question, option_a, option_b, option_c, option_d, correct_answer " +
+                "FROM quizzes WHERE course_id = ? ORDER BY id"
             );
-            
-            // Create quiz submissions table
-            stmt.execute(
-                "CREATE TABLE IF NOT EXISTS quiz_submissions (" +
-                "id INT AUTO_INCREMENT PRIMARY KEY, " +
-                "username VARCHAR(50) NOT NULL, " +
-                "course_id INT NOT NULL, " +
-                "quiz_id INT NOT NULL, " +
-                "answer CHAR(1), " +
-                "score INT, " +
-                "submission_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
-                "FOREIGN KEY (course_id) REFERENCES courses(id), " +
-                "FOREIGN KEY (quiz_id) REFERENCES quizzes(id)" +
-                ")"
+            PreparedStatement updateStmt = conn.prepareStatement(
+                "UPDATE quizzes SET option_a = ?, option_b = ?, option_c = ?, option_d = ?, correct_answer = ? WHERE id = ?"
             );
             
-            // Check if courses need to be initialized
-            ResultSet rs = stmt.executeQuery("SELECT COUNT(*) as count FROM courses");
-            rs.next();
-            int courseCount = rs.getInt("count");
-            rs.close();
-            
-            // Initialize courses if they don't exist
-            if (courseCount == 0) {
-                String[] defaultCourses = {"OOAD", "Cloud Computing", "Computer Design", "GENAI", "Robotics"};
-                for (String course : defaultCourses) {
-                    stmt.execute(
-                        "INSERT INTO courses (courseName) VALUES ('" + course + "')"
+            int inserted = 0;
+            int updated = 0;
+            for (String courseName : courseNames) {
+                int courseId = ensureCourseExists(conn, courseName);
+                
+                // Questions this course already has, keyed by text; the oldest row wins
+                Map<String, Quiz> existing = new HashMap<>();
+                existingStmt.setInt(1, courseId);
+                ResultSet rs = existingStmt.executeQuery();
+                while (rs.next()) {
+                    List<String> options = Arrays.asList(
+                        rs.getString("option_a"), rs.getString("option_b"),
+                        rs.getString("option_c"), rs.getString("option_d")
                     );
+                    existing.putIfAbsent(rs.getString("question"),
+                        new Quiz(rs.getInt("id"), rs.getString("question"), options, rs.getString("correct_answer")));
                 }
-            }
-            
-            // Always initialize quizzes after recreating quiz tables
-            String[] courseNames = {"OOAD", "Cloud Computing", "Computer Design", "GENAI", "Robotics"};
-            for (String courseName : courseNames) {
-                // Get course ID
-                rs = stmt.executeQuery(
-                    "SELECT id FROM courses WHERE courseName = '" + courseName + "'"
-                );
-                if (rs.next()) {
-                    int courseId = rs.getInt("id");
-                    List<QuizQuestion> questions = QuizQuestions.getQuestionsForCourse(courseName);
-                    
-                    for (QuizQuestion question : questions) {
-                        List<String> options = question.getOptions();
-                        if (options.size() >= 4) {
-                            PreparedStatement pstmt = conn.prepareStatement(
-                                "INSERT INTO quizzes (course_id, question, option_a, option_b, option_c, option_d, correct_answer) " +
-                                "VALUES (?, ?, ?, ?, ?, ?, ?)"
-                            );
-                            pstmt.setInt(1, courseId);
-                            pstmt.setString(2, question.getQuestion());
-                            pstmt.setString(3, options.get(0));
-                            pstmt.setString(4, options.get(1));
-                            pstmt.setString(5, options.get(2));
-                            pstmt.setString(6, options.get(3));
-                            pstmt.setString(7, question.getCorrectAnswer());
-                            pstmt.executeUpdate();
-                            pstmt.close();
+                rs.close();
+                
+                List<Quiz> missing = new ArrayList<>();
+                int changed = 0;
+                for (QuizQuestion question : QuizQuestions.getQuestionsForCourse(courseName)) {
+                    if (question.getOptions().size() < 4) {
+                        continue;
+                    }
+                    List<String> options = question.getOptions().subList(0, 4);
+                    Quiz current = existing.get(question.getQuestion());
+                    if (current == null) {
+                        missing.add(new Quiz(question.getQuestion(), question.getOptions(), question.getCorrectAnswer()));
+                    } else if (!current.getOptions().equals(options) || !current.getAnswer().equals(question.getCorrectAnswer())) {
+                        // Corrected since it was seeded; fix the row rather than adding a second copy
+                        for (int i = 0; i < 4; i++) {
+                            updateStmt.setString(i + 1, options.get(i));
                         }
+                        updateStmt.setString(5, question.getCorrectAnswer());
+                        updateStmt.setInt(6, current.getId());
+                        updateStmt.addBatch();
+                        changed++;
                     }
                 }
-                rs.close();
+                
+                // Joins the seeding transaction, one batched statement per course
+                insertQuizzes(conn, courseId, missing);
+                if (changed > 0) {
+                    updateStmt.executeBatch();
+                }
+                inserted += missing.size();
+                updated += changed;
             }
             
-            stmt.close();
-            System.out.println("Database initialized successfully!");
+            existingStmt.close();
+            updateStmt.close();
+            conn.commit();
+            System.out.println("Seeded " + inserted + " built-in quiz questions, corrected " + updated);
         } catch (SQLException e) {
-            System.err.println("Error initializing database: " + e.getMessage());
-            e.printStackTrace();
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(true);
         }
     }
     
     /**
-     * Registers a new user
+     * Registers a new user; the password is stored as a salted PBKDF2 hash
      */
     public boolean registerUser(String username, String password, String userType) {
+        OperationMetrics.Call call = REGISTER_USER.begin();
         try {
-            // Check if username already exists
-            PreparedStatement checkStmt = conn.prepareStatement(
-                "SELECT id FROM users WHERE username = ?"
-            );
-            checkStmt.setString(1, username);
-            ResultSet rs = checkStmt.executeQuery();
+            // Hash before borrowing a connection so none is held during the expensive part
+            String passwordHash = passwordHasher.hash(password);
             
-            if (rs.next()) {
-                // Username already exists
+            try (Connection conn = borrowConnection()) {
+                // Check if username already exists
+                PreparedStatement checkStmt = conn.prepareStatement(
+                    "SELECT id FROM users WHERE username = ?"
+                );
+                checkStmt.setString(1, username);
+                ResultSet rs = checkStmt.executeQuery();
+                
+                if (rs.next()) {
+                    // Username already exists
+                    rs.close();
+                    checkStmt.close();
+                    return false;
+                }
+                
                 rs.close();
                 checkStmt.close();
-                return false;
+                
+                // Insert new user
+                PreparedStatement insertStmt = conn.prepareStatement(
+                    "INSERT INTO users (username, password, userType) VALUES (?, ?, ?)"
+                );
+                insertStmt.setString(1, username);
+                insertStmt.setString(2, passwordHash);
+                insertStmt.setString(3, userType);
+                
+                int rowsAffected = insertStmt.executeUpdate();
+                insertStmt.close();
+                call.rows(rowsAffected);
+                
+                return rowsAffected > 0;
             }
-            
-            rs.close();
-            checkStmt.close();
-            
-            // Insert new user
-            PreparedStatement insertStmt = conn.prepareStatement(
-                "INSERT INTO users (username, password, userType) VALUES (?, ?, ?)"
-            );
-            insertStmt.setString(1, username);
-            insertStmt.setString(2, password);
-            insertStmt.setString(3, userType);
-            
-            int rowsAffected = insertStmt.executeUpdate();
-            insertStmt.close();
-            
-            return rowsAffected > 0;
         } catch (SQLException e) {
+            call.fail();
             System.err.println("Error registering user: " + e.getMessage());
             e.printStackTrace();
             return false;
+        } catch (RejectedExecutionException e) {
+            call.fail();
+            System.err.println("Error registering user: password hashing is overloaded, try again shortly");
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            call.fail();
+            return false;
+        } finally {
+            call.end();
         }
     }
     
     /**
-     * Authenticates a user
+     * Authenticates a user against their stored password hash.
+     * Legacy plaintext and lower-cost hashes are upgraded on a successful login.
+     *
+     * @return the user's type, or null if the credentials are wrong or can't be checked right now
      */
     public String loginUser(String username, String password) {
+        OperationMetrics.Call call = LOGIN_USER.begin();
         try {
-            PreparedStatement stmt = conn.prepareStatement(
-                "SELECT userType FROM users WHERE username = ? AND password = ?"
-            );
-            stmt.setString(1, username);
-            stmt.setString(2, password);
-            
-            ResultSet rs = stmt.executeQuery();
-            
-            if (rs.next()) {
-                String userType = rs.getString("userType");
-                rs.close();
-                stmt.close();
-                return userType;
-            } else {
+            String storedPassword = null;
+            String userType = null;
+            try (Connection conn = borrowConnection()) {
+                PreparedStatement stmt = conn.prepareStatement(
+                    "SELECT password, userType FROM users WHERE username = ?"
+                );
+                stmt.setString(1, username);
+                
+                ResultSet rs = stmt.executeQuery();
+                if (rs.next()) {
+                    storedPassword = rs.getString("password");
+                    userType = rs.getString("userType");
+                    call.rows(1);
+                }
                 rs.close();
                 stmt.close();
+            }
+            
+            // Verified without holding a connection; unknown users cost the same as wrong passwords
+            String keptPassword = passwordHasher.verify(password, storedPassword);
+            if (keptPassword == null) {
                 return null;
             }
+            if (!keptPassword.equals(storedPassword)) {
+                updatePassword(username, storedPassword, keptPassword);
+            }
+            return userType;
         } catch (SQLException e) {
+            call.fail();
             System.err.println("Error logging in: " + e.getMessage());
             e.printStackTrace();
             return null;
+        } catch (RejectedExecutionException e) {
+            call.fail();
+            System.err.println("Error logging in: password verification is overloaded, try again shortly");
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            call.fail();
+            return null;
+        } finally {
+            call.end();
         }
     }
     
     /**
-     * Uploads a course material and generates quizzes
+     * Logs a user in and issues a session token, so later calls can skip password verification
+     *
+     * @return the new session, or null if the credentials are wrong
      */
-    public boolean uploadMaterial(String courseName, File file) {
-        try {
-            // Check if course exists, if not create it
-            int courseId = ensureCourseExists(courseName);
-            
-            // Create directory for uploads if it doesn't exist
-            Path uploadsDir = Paths.get("course_uploads", courseName);
-            Files.createDirectories(uploadsDir);
-            
-            // Copy file to uploads directory
-            String fileName = file.getName();
-            Path destination = uploadsDir.resolve(fileName);
-            Files.copy(file.toPath(), destination, StandardCopyOption.REPLACE_EXISTING);
-            
-            // Save file info to database
+    public Session createSession(String username, String password) {
+        String userType = loginUser(username, password);
+        return userType != null ? sessionCache.create(username, userType) : null;
+    }
+    
+    /**
+     * Returns the live session for a token, or null if it is unknown or expired
+     */
+    public Session getSession(String token) {
+        return sessionCache.get(token);
+    }
+    
+    public void endSession(String token) {
+        sessionCache.invalidate(token);
+    }
+    
+    /**
+     * Replaces a stored password only if it still holds the value it was verified against
+     */
+    private static void updatePassword(String username, String expected, String replacement) throws SQLException {
+        try (Connection conn = borrowConnection()) {
             PreparedStatement stmt = conn.prepareStatement(
-                "INSERT INTO materials (course_id, fileName, filePath) VALUES (?, ?, ?)"
+                "UPDATE users SET password = ? WHERE username = ? AND password = ?"
             );
-            stmt.setInt(1, courseId);
-            stmt.setString(2, fileName);
-            stmt.setString(3, destination.toString());
-            
-            int rowsAffected = stmt.executeUpdate();
+            stmt.setString(1, replacement);
+            stmt.setString(2, username);
+            stmt.setString(3, expected);
+            stmt.executeUpdate();
             stmt.close();
-            
-            // Extract text from PDF and generate quiz questions
-            String pdfText = extractTextFromPDF(destination.toString());
-            List<Quiz> quizzes = quizFactory.createQuizzes(pdfText, courseName, 5);
-            
-            // Save generated quizzes to database
-            saveQuizzes(courseId, courseName, quizzes);
-            
-            return rowsAffected > 0;
+        }
+    }
+    
+    /**
+     * Hashes any plaintext passwords left from before hashing was introduced.
+     * Runs once per process in the background, one user at a time on the hashing
+     * pool so logins keep getting through; a login that upgrades a user first wins.
+     */
+    private static void upgradeLegacyPasswords() {
+        if (!legacyPasswordUpgradeStarted.compareAndSet(false, true)) {
+            return;
+        }
+        Thread upgrader = new Thread(() -> {
+            try {
+                List<String[]> legacyUsers = new ArrayList<>();
+                try (Connection conn = borrowConnection()) {
+                    PreparedStatement stmt = conn.prepareStatement(
+                        "SELECT username, password FROM users WHERE password NOT LIKE ?"
+                    );
+                    stmt.setString(1, PasswordHasher.PREFIX + "%");
+                    ResultSet rs = stmt.executeQuery();
+                    while (rs.next()) {
+                        legacyUsers.add(new String[]{rs.getString("username"), rs.getString("password")});
+                    }
+                    rs.close();
+                    stmt.close();
+                }
+                
+                for (String[] user : legacyUsers) {
+                    String passwordHash;
+                    while (true) {
+                        try {
+                            passwordHash = passwordHasher.hash(user[1]);
+                            break;
+                        } catch (RejectedExecutionException e) {
+                            // Logins have the pool; try again once the queue drains
+                            Thread.sleep(1000);
+                        }
+                    }
+                    updatePassword(user[0], user[1], passwordHash);
+                }
+                if (!legacyUsers.isEmpty()) {
+                    System.out.println("Hashed " + legacyUsers.size() + " legacy plaintext passwords");
+                }
+            } catch (SQLException e) {
+                System.err.println("Error upgrading legacy passwords: " + e.getMessage());
+                e.printStackTrace();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "lms-password-upgrade");
+        upgrader.setDaemon(true);
+        upgrader.start();
+    }
+    
+    /**
+     * Uploads a course material and generates quizzes on the calling thread
+     */
+    public boolean uploadMaterial(String courseName, File file) {
+        UploadJob job = new UploadJob(-1, courseName, file);
+        OperationMetrics.Call call = UPLOAD_MATERIAL.begin();
+        try {
+            storeMaterial(job);
+            extractMaterialText(job);
+            generateMaterialQuizzes(job);
+            persistMaterialQuizzes(job);
+            call.rows(job.getQuizCount());
+            return true;
         } catch (SQLException | IOException e) {
+            call.fail();
             System.err.println("Error uploading material: " + e.getMessage());
             e.printStackTrace();
             return false;
+        } finally {
+            call.end();
         }
     }
     
     /**
-     * Extracts text from a PDF file
+     * Queues a material upload on the background pipeline and returns right away.
+     * Use getUploadJob to poll its status or addUploadListener to be told when it finishes.
      */
-    private String extractTextFromPDF(String pdfPath) {
+    public UploadJob submitUpload(String courseName, File file) {
+        OperationMetrics.Call call = SUBMIT_UPLOAD.begin();
         try {
-            // Generate meaningful content based on the course name
-            String courseName = new File(pdfPath).getParentFile().getName();
-            
-            if (courseName.contains("Cloud Computing")) {
-                return "Cloud Computing is a model for enabling ubiquitous, convenient, on-demand network access to a shared pool of configurable computing resources. " +
-                       "Key concepts include Infrastructure as a Service (IaaS), Platform as a Service (PaaS), and Software as a Service (SaaS). " +
-                       "Cloud providers like AWS, Azure, and Google Cloud offer various services for storage, computing, and networking. " +
-                       "Benefits of cloud computing include cost savings, scalability, and flexibility. " +
-                       "Security and privacy are important considerations in cloud computing.";
-            } else if (courseName.contains("OOAD")) {
-                return "Object-Oriented Analysis and Design (OOAD) is a software engineering approach that models a system as a group of interacting objects. " +
-                       "Key concepts include classes, objects, inheritance, encapsulation, and polymorphism. " +
-                       "UML (Unified Modeling Language) is used to visualize, specify, design, and document software systems. " +
-                       "Design patterns like Singleton, Factory, Observer, and Strategy help solve common design problems. " +
-                       "SOLID principles guide good object-oriented design.";
-            } else if (courseName.contains("Computer Design")) {
-                return "Computer Design involves the creation of computer systems and their components. " +
-                       "Key concepts include CPU architecture, memory hierarchy, I/O systems, and parallel processing. " +
-                       "The Von Neumann architecture is the basis for most modern computers. " +
-                       "Performance optimization techniques include pipelining, caching, and branch prediction. " +
-                       "RISC and CISC are two different approaches to CPU design.";
-            } else {
-                return "This is a general course covering fundamental concepts in computer science. " +
-                       "Topics include algorithms, data structures, programming languages, and software engineering. " +
-                       "Students will learn problem-solving techniques and how to design efficient solutions. " +
-                       "The course emphasizes practical skills and theoretical understanding. " +
-                       "Projects and assignments help reinforce learning.";
+            UploadJob job = uploadPipeline.submit(courseName, file);
+            if (job.getStatus() == UploadJob.Status.FAILED) {
+                // Rejected because the pipeline's queue is full
+                call.fail();
             }
-        } catch (Exception e) {
-            System.err.println("Error extracting text from PDF: " + e.getMessage());
-            e.printStackTrace();
-            return "";
+            return job;
+        } finally {
+            call.end();
         }
     }
     
     /**
-     * Saves generated quizzes to the database
+     * Returns an upload job by id, or null if it is unknown
      */
-    private void saveQuizzes(int courseId, String courseName, List<Quiz> quizzes) throws SQLException {
-        PreparedStatement stmt = conn.prepareStatement(
-            "INSERT INTO quizzes (course_id, question, option_a, option_b, option_c, option_d, correct_answer) " +
-            "VALUES (?, ?, ?, ?, ?, ?, ?)"
-        );
-        
-        for (Quiz quiz : quizzes) {
-            stmt.setInt(1, courseId);
-            stmt.setString(2, quiz.getQuestion());
-            List<String> options = quiz.getOptions();
-            stmt.setString(3, options.get(0));
-            stmt.setString(4, options.get(1));
-            stmt.setString(5, options.get(2));
-            stmt.setString(6, options.get(3));
-            stmt.setString(7, quiz.getAnswer());
-            stmt.executeUpdate();
-        }
+    public UploadJob getUploadJob(long jobId) {
+        return uploadPipeline.getJob(jobId);
+    }
+    
+    public void addUploadListener(UploadPipeline.Listener listener) {
+        uploadPipeline.addListener(listener);
+    }
+    
+    /**
+     * Upload stage 1: stores the file by content hash and records the material.
+     * If this course already has material with the same content, no new row is
+     * added: fully processed material skips the remaining stages, and a row left
+     * by an earlier upload that failed part way is processed again.
+     */
+    private void storeMaterial(UploadJob job) throws SQLException, IOException {
+        // Copy into the blob store, hashing during the copy
+        StoredBlob blob = blobStore.store(job.getFile().toPath());
+        String fileName = job.getFile().getName();
         
-        stmt.close();
+        try (Connection conn = borrowConnection()) {
+            // Check if course exists, if not create it
+            int courseId = ensureCourseExists(conn, job.getCourseName());
+            job.courseId = courseId;
+            job.contentHash = blob.getHash();
+            job.storedPath = blob.getPath();
+            
+            conn.setAutoCommit(false);
+            try {
+                // Save file info to database. The unique (course_id, content_hash) key makes a
+                // concurrent identical upload wait here and then skip the insert.
+                PreparedStatement stmt = conn.prepareStatement(
+                    "INSERT IGNORE INTO materials (course_id, fileName, filePath, content_hash) VALUES (?, ?, ?, ?)",
+                    Statement.RETURN_GENERATED_KEYS
+                );
+                stmt.setInt(1, courseId);
+                stmt.setString(2, fileName);
+                stmt.setString(3, blob.getPath().toString());
+                stmt.setString(4, blob.getHash());
+                boolean inserted = stmt.executeUpdate() > 0;
+                
+                if (inserted) {
+                    ResultSet keys = stmt.getGeneratedKeys();
+                    if (keys.next()) {
+                        job.materialId = keys.getInt(1);
+                    }
+                    keys.close();
+                }
+                stmt.close();
+                
+                if (!inserted) {
+                    // Same content already uploaded to this course. That row already holds its blob
+                    // reference, so retries and duplicates add neither rows nor references.
+                    PreparedStatement existingStmt = conn.prepareStatement(
+                        "SELECT id, quizzes_generated FROM materials WHERE course_id = ? AND content_hash = ?"
+                    );
+                    existingStmt.setInt(1, courseId);
+                    existingStmt.setString(2, blob.getHash());
+                    ResultSet rs = existingStmt.executeQuery();
+                    boolean existing = rs.next();
+                    if (existing) {
+                        job.materialId = rs.getInt("id");
+                        job.alreadyProcessed = rs.getBoolean("quizzes_generated");
+                    }
+                    rs.close();
+                    existingStmt.close();
+                    
+                    if (!existing) {
+                        // INSERT IGNORE also skips rows that fail for other reasons
+                        throw new SQLException("Could not store material " + fileName);
+                    }
+                    conn.commit();
+                    return;
+                }
+                
+                // One reference per materials row pointing at the blob
+                PreparedStatement blobStmt = conn.prepareStatement(
+                    "INSERT INTO blobs (content_hash, filePath, size_bytes, ref_count) VALUES (?, ?, ?, 1) " +
+                    "ON DUPLICATE KEY UPDATE ref_count = ref_count + 1"
+                );
+                blobStmt.setString(1, blob.getHash());
+                blobStmt.setString(2, blob.getPath().toString());
+                blobStmt.setLong(3, blob.getSize());
+                blobStmt.executeUpdate();
+                blobStmt.close();
+                
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+    
+    /**
+     * Upload stage 2: extracts the material's text
+     */
+    private void extractMaterialText(UploadJob job) throws IOException {
+        if (job.alreadyProcessed) {
+            return;
+        }
+        Path pdfPath = job.storedPath;
+        
+        // Quiz generation only looks at the opening sentences, so don't load the whole text
+        String text = extractedTextCache.get(job.contentHash, GENERATION_TEXT_CHARS,
+            out -> extractTextFromPDF(pdfPath, out));
+        if (text.trim().length() < MIN_EXTRACTED_CHARS) {
+            // Scanned or unsupported PDF: fall back to the course summary
+            text = getCourseSummaryText(job.getCourseName());
+        }
+        job.text = text;
+    }
+    
+    /**
+     * Upload stage 3: generates quiz questions from the extracted text
+     */
+    private void generateMaterialQuizzes(UploadJob job) {
+        if (job.alreadyProcessed) {
+            return;
+        }
+        job.quizzes = quizFactory.createQuizzes(job.text, job.getCourseName(), 5);
+        job.text = null;
+    }
+    
+    /**
+     * Upload stage 4: saves the generated quizzes
+     */
+    private void persistMaterialQuizzes(UploadJob job) throws SQLException {
+        if (job.alreadyProcessed) {
+            return;
+        }
+        try (Connection conn = borrowConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                // Mark the material so identical re-uploads can skip straight to done. Two uploads of
+                // the same content can share a row; only the one that marks it saves quizzes.
+                PreparedStatement stmt = conn.prepareStatement(
+                    "UPDATE materials SET quizzes_generated = 1 WHERE id = ? AND quizzes_generated = 0"
+                );
+                stmt.setInt(1, job.materialId);
+                boolean claimed = stmt.executeUpdate() > 0;
+                stmt.close();
+                if (!claimed) {
+                    conn.rollback();
+                    job.alreadyProcessed = true;
+                    return;
+                }
+                
+                saveQuizzes(conn, job.courseId, job.getCourseName(), job.quizzes);
+                
+                conn.commit();
+                
+                // Invalidate again now the rows are visible, in case a reader rebuilt before the commit
+                answerKeyCache.invalidate(job.courseId);
+                quizSetCache.invalidate(job.courseId);
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+            job.setQuizCount(job.quizzes.size());
+        }
+    }
+    
+    /**
+     * Extracts text from a PDF file, streaming it page by page into the writer
+     *
+     * @return UNUSABLE if the text is unreadable, e.g. binary noise,
+     *         so it is discarded and uploads fall back to the course summary;
+     *         PARTIAL if the time budget ran out, so it is extracted again next time
+     */
+    private ExtractedTextCache.Outcome extractTextFromPDF(Path pdfPath, Writer out) throws IOException {
+        PdfTextExtractor.ExtractionResult result = pdfTextExtractor.extract(pdfPath, out);
+        if (!result.isUsable()) {
+            System.err.println("Text extraction for " + pdfPath + " produced unreadable text, discarding it: " + result);
+            return ExtractedTextCache.Outcome.UNUSABLE;
+        }
+        if (result.isTimedOut()) {
+            System.err.println("Text extraction for " + pdfPath + " hit its time budget, using partial text without caching it: " + result);
+            return ExtractedTextCache.Outcome.PARTIAL;
+        }
+        return ExtractedTextCache.Outcome.COMPLETE;
+    }
+    
+    /**
+     * Returns up to maxChars of a material's extracted text, for reuse by quiz
+     * regeneration, search or analytics without extracting the PDF again
+     */
+    public String getMaterialText(int materialId, int maxChars) {
+        OperationMetrics.Call call = GET_MATERIAL_TEXT.begin();
+        try (Connection conn = borrowConnection()) {
+            PreparedStatement stmt = conn.prepareStatement(
+                "SELECT filePath, content_hash FROM materials WHERE id = ?"
+            );
+            stmt.setInt(1, materialId);
+            ResultSet rs = stmt.executeQuery();
+            
+            String filePath = null;
+            String contentHash = null;
+            if (rs.next()) {
+                filePath = rs.getString("filePath");
+                contentHash = rs.getString("content_hash");
+                call.rows(1);
+            }
+            rs.close();
+            stmt.close();
+            
+            if (contentHash == null) {
+                // Unknown material, or uploaded before content hashing
+                return "";
+            }
+            
+            Path pdfPath = Paths.get(filePath);
+            return extractedTextCache.get(contentHash, maxChars, out -> extractTextFromPDF(pdfPath, out));
+        } catch (SQLException | IOException e) {
+            call.fail();
+            System.err.println("Error getting material text: " + e.getMessage());
+            e.printStackTrace();
+            return "";
+        } finally {
+            call.end();
+        }
+    }
+    
+    /**
+     * Returns the extracted-text cache, e.g. for reading its hit counters
+     */
+    public ExtractedTextCache getExtractedTextCache() {
+        return extractedTextCache;
+    }
+    
+    /**
+     * Canned course summary used when a PDF yields no usable text
+     */
+    private String getCourseSummaryText(String courseName) {
+        try {
+            // Generate meaningful content based on the course name
+            if (courseName.contains("Cloud Computing")) {
+                return "Cloud Computing is a model for enabling ubiquitous, convenient, on-demand network access to a shared pool of configurable computing resources. " +
+                       "Key concepts include Infrastructure as a Service (IaaS), Platform as a Service (PaaS), and Software as a Service (SaaS). " +
+                       "Cloud providers like AWS, Azure, and Google Cloud offer various services for storage, computing, and networking. " +
+                       "Benefits of cloud computing include cost savings, scalability, and flexibility. " +
+                       "Security and privacy are important considerations in cloud computing.";
+            } else if (courseName.contains("OOAD")) {
+                return "Object-Oriented Analysis and Design (OOAD) is a software engineering approach that models a system as a group of interacting objects. " +
+                       "Key concepts include classes, objects, inheritance, encapsulation, and polymorphism. " +
+                       "UML (Unified Modeling Language) is used to visualize, specify, design, and document software systems. " +
+                       "Design patterns like Singleton, Factory, Observer, and Strategy help solve common design problems. " +
+                       "SOLID principles guide good object-oriented design.";
+            } else if (courseName.contains("Computer Design")) {
+                return "Computer Design involves the creation of computer systems and their components. " +
+                       "Key concepts include CPU architecture, memory hierarchy, I/O systems, and parallel processing. " +
+                       "The Von Neumann architecture is the basis for most modern computers. " +
+                       "Performance optimization techniques include pipelining, caching, and branch prediction. " +
+                       "RISC and CISC are two different approaches to CPU design.";
+            } else {
+                return "This is a general course covering fundamental concepts in computer science. " +
+                       "Topics include algorithms, data structures, programming languages, and software engineering. " +
+                       "Students will learn problem-solving techniques and how to design efficient solutions. " +
+                       "The course emphasizes practical skills and theoretical understanding. " +
+                       "Projects and assignments help reinforce learning.";
+            }
+        } catch (Exception e) {
+            System.err.println("Error building course summary text: " + e.getMessage());
+            e.printStackTrace();
+            return "";
+        }
+    }
+    
+    /**
+     * Saves generated quizzes to the database
+     */
+    private int[] saveQuizzes(Connection conn, int courseId, String courseName, List<Quiz> quizzes) throws SQLException {
+        int[] ids = insertQuizzes(conn, courseId, quizzes);
+        
+        // The course's quizzes changed, drop the cached answer key and quiz set
+        answerKeyCache.invalidate(courseId);
+        quizSetCache.invalidate(courseId);
+        
+        return ids;
+    }
+    
+    /**
+     * Imports a set of instructor-authored quizzes into a course in one transaction
+     *
+     * @return the generated quiz ids in the same order as the input, or null on failure
+     */
+    public int[] importQuizzes(String courseName, List<Quiz> quizzes) {
+        OperationMetrics.Call call = IMPORT_QUIZZES.begin();
+        try (Connection conn = borrowConnection()) {
+            int courseId = ensureCourseExists(conn, courseName);
+            int[] ids = saveQuizzes(conn, courseId, courseName, quizzes);
+            call.rows(ids.length);
+            return ids;
+        } catch (SQLException e) {
+            call.fail();
+            System.err.println("Error importing quizzes: " + e.getMessage());
+            e.printStackTrace();
+            return null;
+        } finally {
+            call.end();
+        }
+    }
+    
+    /**
+     * Bulk write path for quiz sets. Rows are sent as JDBC batches of QUIZ_BATCH_SIZE
+     * (rewritten into multi-row INSERTs by the driver) inside a single transaction.
+     * If the caller already has a transaction open, the insert joins it.
+     *
+     * @return the generated quiz ids in the same order as the input
+     */
+    private int[] insertQuizzes(Connection conn, int courseId, List<Quiz> quizzes) throws SQLException {
+        int[] ids = new int[quizzes.size()];
+        if (quizzes.isEmpty()) {
+            return ids;
+        }
+        
+        // Validate everything before writing anything
+        for (int i = 0; i < quizzes.size(); i++) {
+            Quiz quiz = quizzes.get(i);
+            if (quiz.getOptions() == null || quiz.getOptions().size() < 4) {
+                throw new SQLException("Quiz " + (i + 1) + " needs four options: " + quiz.getQuestion());
+            }
+            String answer = quiz.getAnswer();
+            if (answer == null || answer.length() != 1 || answer.charAt(0) < 'A' || answer.charAt(0) > 'D') {
+                throw new SQLException("Quiz " + (i + 1) + " has an invalid answer letter: " + answer);
+            }
+        }
+        
+        boolean ownTransaction = conn.getAutoCommit();
+        if (ownTransaction) {
+            conn.setAutoCommit(false);
+        }
+        
+        PreparedStatement stmt = conn.prepareStatement(
+            "INSERT INTO quizzes (course_id, question, option_a, option_b, option_c, option_d, correct_answer) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)",
+            Statement.RETURN_GENERATED_KEYS
+        );
+        try {
+            int next = 0;
+            for (int start = 0; start < quizzes.size(); start += QUIZ_BATCH_SIZE) {
+                int end = Math.min(start + QUIZ_BATCH_SIZE, quizzes.size());
+                for (Quiz quiz : quizzes.subList(start, end)) {
+                    List<String> options = quiz.getOptions();
+                    stmt.setInt(1, courseId);
+                    stmt.setString(2, quiz.getQuestion());
+                    stmt.setString(3, options.get(0));
+                    stmt.setString(4, options.get(1));
+                    stmt.setString(5, options.get(2));
+                    stmt.setString(6, options.get(3));
+                    stmt.setString(7, quiz.getAnswer());
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                
+                ResultSet keys = stmt.getGeneratedKeys();
+                while (keys.next() && next < ids.length) {
+                    ids[next++] = keys.getInt(1);
+                }
+                keys.close();
+            }
+            
+            if (ownTransaction) {
+                conn.commit();
+            }
+            return ids;
+        } catch (SQLException e) {
+            if (ownTransaction) {
+                conn.rollback();
+            }
+            throw e;
+        } finally {
+            stmt.close();
+            if (ownTransaction) {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+    
+    /**
+     * Ensures a course exists in the database
+     */
+    private int ensureCourseExists(Connection conn, String courseName) throws SQLException {
+        return courseRegistry.getOrCreate(conn, courseName);
+    }
+    
+    /**
+     * Gets all courses from the database
+     */
+    public List<String> getCourses() {
+        List<String> courses = new ArrayList<>();
+        
+        OperationMetrics.Call call = GET_COURSES.begin();
+        try (Connection conn = borrowConnection()) {
+            Statement stmt = conn.createStatement();
+            ResultSet rs = stmt.executeQuery("SELECT courseName FROM courses");
+            
+            while (rs.next()) {
+                courses.add(rs.getString("courseName"));
+            }
+            
+            rs.close();
+            stmt.close();
+            call.rows(courses.size());
+        } catch (SQLException e) {
+            call.fail();
+            System.err.println("Error getting courses: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            call.end();
+        }
+        
+        return courses;
+    }
+    
+    /**
+     * Gets materials for a specific course
+     */
+    public List<String[]> getCourseMaterials(String courseName) {
+        List<String[]> materials = new ArrayList<>();
+        
+        OperationMetrics.Call call = GET_COURSE_MATERIALS.begin();
+        try (Connection conn = borrowConnection()) {
+            Integer courseId = courseRegistry.getId(conn, courseName);
+            if (courseId == null) {
+                return materials;
+            }
+            
+            PreparedStatement stmt = conn.prepareStatement(
+                "SELECT id, fileName, filePath FROM materials WHERE course_id = ?"
+            );
+            stmt.setInt(1, courseId);
+            
+            ResultSet rs = stmt.executeQuery();
+            
+            while (rs.next()) {
+                String[] material = new String[3];
+                material[0] = rs.getString("fileName");
+                material[1] = rs.getString("filePath");
+                material[2] = rs.getString("id");
+                materials.add(material);
+            }
+            
+            rs.close();
+            stmt.close();
+            call.rows(materials.size());
+        } catch (SQLException e) {
+            call.fail();
+            System.err.println("Error getting materials: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            call.end();
+        }
+        
+        return materials;
+    }
+    
+    /**
+     * Gets quizzes for a specific course
+     */
+    public List<Quiz> getCourseQuizzes(String courseName) {
+        QuizSet quizSet = getCourseQuizSet(courseName);
+        return quizSet != null ? quizSet.getQuizzes() : new ArrayList<>();
+    }
+    
+    /**
+     * Gets the shared, immutable quiz snapshot for a course, or null if the course is unknown.
+     * Served from memory; the database is only read after the course's quizzes change.
+     */
+    public QuizSet getCourseQuizSet(String courseName) {
+        OperationMetrics.Call call = GET_COURSE_QUIZ_SET.begin();
+        try {
+            Integer courseId = courseRegistry.getId(courseName);
+            if (courseId == null) {
+                try (Connection conn = borrowConnection()) {
+                    courseId = courseRegistry.getId(conn, courseName);
+                }
+                if (courseId == null) {
+                    return null;
+                }
+            }
+            
+            QuizSet quizSet = quizSetCache.get(courseId, id -> {
+                try (Connection conn = borrowConnection()) {
+                    return loadCourseQuizzes(conn, id);
+                }
+            });
+            call.rows(quizSet.getQuizzes().size());
+            return quizSet;
+        } catch (SQLException e) {
+            call.fail();
+            System.err.println("Error getting quizzes: " + e.getMessage());
+            e.printStackTrace();
+            return null;
+        } finally {
+            call.end();
+        }
+    }
+    
+    /**
+     * Reads every quiz of a course from the database
+     */
+    private List<Quiz> loadCourseQuizzes(Connection conn, int courseId) throws SQLException {
+        List<Quiz> quizzes = new ArrayList<>();
+        
+        PreparedStatement stmt = conn.prepareStatement(COURSE_QUIZZES_SQL);
+        stmt.setInt(1, courseId);
+        
+        ResultSet rs = stmt.executeQuery();
+        
+        while (rs.next()) {
+            int id = rs.getInt("id");
+            String question = rs.getString("question");
+            List<String> options = List.of(
+                rs.getString("option_a"),
+                rs.getString("option_b"),
+                rs.getString("option_c"),
+                rs.getString("option_d")
+            );
+            String answer = rs.getString("correct_answer");
+            
+            quizzes.add(new Quiz(id, question, options, answer));
+        }
+        
+        rs.close();
+        stmt.close();
+        
+        return quizzes;
+    }
+    
+    /**
+     * Submits quiz answers and calculates score.
+     * Grading uses the cached answer key. With write-behind enabled the graded
+     * submission is acknowledged once it is fsync'd to the submission log;
+     * otherwise it is written in a single batch and transaction before returning.
+     *
+     * @return the percentage score, or empty if nothing was saved: no answers,
+     *         an unknown course or quiz id, or a storage failure
+     */
+    public OptionalInt submitQuizAnswers(String username, String courseName, Map<Integer, String> answers) {
+        int totalQuestions = answers.size();
+        
+        if (totalQuestions == 0) {
+            return OptionalInt.empty();
+        }
+        
+        GradedSubmission submission;
+        OperationMetrics.Call call = SUBMIT_QUIZ_ANSWERS.begin();
+        try (Connection conn = borrowConnection()) {
+            // Get course ID
+            Integer courseId = courseRegistry.getId(conn, courseName);
+            if (courseId == null) {
+                call.fail();
+                System.err.println("Error submitting quiz answers: unknown course " + courseName);
+                return OptionalInt.empty();
+            }
+            
+            // Grade against the cached answer key; only questions outside this course hit the database
+            AnswerKey answerKey = answerKeyCache.get(courseId, id -> loadCourseAnswerKey(conn, id));
+            List<Integer> unknownIds = new ArrayList<>();
+            for (Integer quizId : answers.keySet()) {
+                if (!answerKey.contains(quizId)) {
+                    unknownIds.add(quizId);
+                }
+            }
+            Map<Integer, String> otherAnswers = unknownIds.isEmpty()
+                ? Collections.emptyMap()
+                : loadAnswerKey(conn, unknownIds);
+            
+            // Reject ids with no quiz before anything is logged; they would fail the foreign key when written
+            for (Integer quizId : unknownIds) {
+                if (!otherAnswers.containsKey(quizId)) {
+                    call.fail();
+                    System.err.println("Error submitting quiz answers: unknown quiz id " + quizId);
+                    return OptionalInt.empty();
+                }
+            }
+            
+            submission = grade(UUID.randomUUID().toString(), username, courseId, System.currentTimeMillis(),
+                answers, answerKey, otherAnswers);
+            
+            SubmissionLog log = submissionLog;
+            if (log != null) {
+                log.append(submission);
+            } else {
+                writeSubmissions(conn, Collections.singletonList(submission));
+            }
+            call.rows(submission.size());
+        } catch (SQLException | IOException e) {
+            call.fail();
+            System.err.println("Error submitting quiz answers: " + e.getMessage());
+            e.printStackTrace();
+            // Nothing was saved, so don't report a score for it
+            return OptionalInt.empty();
+        } finally {
+            call.end();
+        }
+        
+        // Calculate percentage score
+        return OptionalInt.of((submission.getCorrectCount() * 100) / totalQuestions);
+    }
+    
+    /**
+     * Grades each answer against the course's answer key, falling back to
+     * otherAnswers for questions from outside the course
+     */
+    static GradedSubmission grade(String submissionId, String username, int courseId, long submittedAt,
+                                  Map<Integer, String> answers, AnswerKey answerKey, Map<Integer, String> otherAnswers) {
+        int[] quizIds = new int[answers.size()];
+        String[] submitted = new String[answers.size()];
+        int[] scores = new int[answers.size()];
+        int i = 0;
+        for (Map.Entry<Integer, String> entry : answers.entrySet()) {
+            int quizId = entry.getKey();
+            String answer = entry.getValue();
+            String correctAnswer = otherAnswers.get(quizId);
+            
+            quizIds[i] = quizId;
+            submitted[i] = answer;
+            // Check if answer matches exactly
+            scores[i] = answerKey.isCorrect(quizId, answer) || (correctAnswer != null && correctAnswer.equals(answer)) ? 1 : 0;
+            i++;
+        }
+        return new GradedSubmission(submissionId, username, courseId, submittedAt, quizIds, submitted, scores);
+    }
+    
+    /**
+     * Writes graded submissions in one transaction; the write-behind log drains through here
+     */
+    private void writeSubmissions(List<GradedSubmission> submissions) throws SQLException {
+        OperationMetrics.Call call = WRITE_SUBMISSIONS.begin();
+        try (Connection conn = borrowConnection()) {
+            writeSubmissions(conn, submissions);
+            for (GradedSubmission submission : submissions) {
+                call.rows(submission.size());
+            }
+        } catch (SQLException e) {
+            call.fail();
+            throw e;
+        } finally {
+            call.end();
+        }
+    }
+    
+    /**
+     * Writes every row of the given submissions as one batch and transaction,
+     * updating each student's score aggregate in the same transaction.
+     * Submissions already stored (e.g. replayed from the log) are skipped, so
+     * neither rows nor aggregates are ever counted twice.
+     */
+    private void writeSubmissions(Connection conn, List<GradedSubmission> submissions) throws SQLException {
+        // One aggregate per (student, course), sorted so concurrent writers lock rows in the same order
+        TreeMap<String, ScoreDelta> deltas = new TreeMap<>();
+        for (GradedSubmission submission : submissions) {
+            deltas.computeIfAbsent(submission.getUsername() + '\u0000' + submission.getCourseId(),
+                k -> new ScoreDelta(submission.getUsername(), submission.getCourseId()));
+        }
+        
+        conn.setAutoCommit(false);
+        try {
+            // Lock (creating if needed) the aggregate rows first; this serializes writers for the same student and course
+            PreparedStatement lockStmt = conn.prepareStatement(
+                "INSERT INTO score_aggregates (username, course_id, total_questions, correct_answers, latest_submission) " +
+                "VALUES (?, ?, 0, 0, NULL) ON DUPLICATE KEY UPDATE total_questions = total_questions"
+            );
+            for (ScoreDelta delta : deltas.values()) {
+                lockStmt.setString(1, delta.username);
+                lockStmt.setInt(2, delta.courseId);
+                lockStmt.addBatch();
+            }
+            lockStmt.executeBatch();
+            lockStmt.close();
+            
+            Set<String> storedIds = loadStoredSubmissionIds(conn, submissions);
+            loadAnsweredQuizIds(conn, deltas, submissions);
+            
+            PreparedStatement submitStmt = conn.prepareStatement(
+                "INSERT IGNORE INTO quiz_submissions (submission_id, username, course_id, quiz_id, answer, score, submission_date) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)"
+            );
+            for (GradedSubmission submission : submissions) {
+                // Skip repeats too, in case the log holds the same submission twice
+                if (!storedIds.add(submission.getSubmissionId())) {
+                    continue;
+                }
+                ScoreDelta delta = deltas.get(submission.getUsername() + '\u0000' + submission.getCourseId());
+                Timestamp submittedAt = new Timestamp(submission.getSubmittedAt());
+                for (int i = 0; i < submission.size(); i++) {
+                    submitStmt.setString(1, submission.getSubmissionId());
+                    submitStmt.setString(2, submission.getUsername());
+                    submitStmt.setInt(3, submission.getCourseId());
+                    submitStmt.setInt(4, submission.getQuizId(i));
+                    submitStmt.setString(5, submission.getAnswer(i));
+                    submitStmt.setInt(6, submission.getScore(i));
+                    submitStmt.setTimestamp(7, submittedAt);
+                    submitStmt.addBatch();
+                    
+                    delta.add(submission.getQuizId(i), submission.getScore(i), submittedAt);
+                }
+            }
+            submitStmt.executeBatch();
+            submitStmt.close();
+            
+            PreparedStatement aggregateStmt = conn.prepareStatement(
+                "UPDATE score_aggregates SET " +
+                "total_questions = total_questions + ?, " +
+                "correct_answers = correct_answers + ?, " +
+                "latest_submission = GREATEST(COALESCE(latest_submission, ?), ?) " +
+                "WHERE username = ? AND course_id = ?"
+            );
+            for (ScoreDelta delta : deltas.values()) {
+                if (delta.latest == null) {
+                    continue;
+                }
+                aggregateStmt.setInt(1, delta.newQuestions);
+                aggregateStmt.setInt(2, delta.correctAnswers);
+                aggregateStmt.setTimestamp(3, delta.latest);
+                aggregateStmt.setTimestamp(4, delta.latest);
+                aggregateStmt.setString(5, delta.username);
+                aggregateStmt.setInt(6, delta.courseId);
+                aggregateStmt.addBatch();
+            }
+            aggregateStmt.executeBatch();
+            aggregateStmt.close();
+            
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+    
+    /**
+     * Returns which of the given submissions are already in quiz_submissions
+     */
+    private Set<String> loadStoredSubmissionIds(Connection conn, List<GradedSubmission> submissions) throws SQLException {
+        List<GradedSubmission> padded = padInList(submissions);
+        PreparedStatement stmt = conn.prepareStatement(
+            "SELECT DISTINCT submission_id FROM quiz_submissions WHERE submission_id IN (" +
+            placeholders("?", padded.size()) + ")"
+        );
+        for (int i = 0; i < padded.size(); i++) {
+            stmt.setString(i + 1, padded.get(i).getSubmissionId());
+        }
+        
+        Set<String> storedIds = new HashSet<>();
+        ResultSet rs = stmt.executeQuery();
+        while (rs.next()) {
+            storedIds.add(rs.getString("submission_id"));
+        }
+        rs.close();
+        stmt.close();
+        return storedIds;
+    }
+    
+    /**
+     * Records, per student and course, which of the submitted questions were already
+     * answered before, so only first answers add to total_questions
+     */
+    private void loadAnsweredQuizIds(Connection conn, Map<String, ScoreDelta> deltas,
+                                     List<GradedSubmission> submissions) throws SQLException {
+        Set<Integer> uniqueQuizIds = new HashSet<>();
+        for (GradedSubmission submission : submissions) {
+            for (int i = 0; i < submission.size(); i++) {
+                uniqueQuizIds.add(submission.getQuizId(i));
+            }
+        }
+        List<ScoreDelta> students = padInList(new ArrayList<>(deltas.values()));
+        List<Integer> quizIds = padInList(new ArrayList<>(uniqueQuizIds));
+        
+        PreparedStatement stmt = conn.prepareStatement(
+            "SELECT DISTINCT username, course_id, quiz_id FROM quiz_submissions " +
+            "WHERE (username, course_id) IN (" + placeholders("(?, ?)", students.size()) + ") " +
+            "AND quiz_id IN (" + placeholders("?", quizIds.size()) + ")"
+        );
+        int index = 1;
+        for (ScoreDelta delta : students) {
+            stmt.setString(index++, delta.username);
+            stmt.setInt(index++, delta.courseId);
+        }
+        for (Integer quizId : quizIds) {
+            stmt.setInt(index++, quizId);
+        }
+        
+        ResultSet rs = stmt.executeQuery();
+        while (rs.next()) {
+            ScoreDelta delta = deltas.get(rs.getString("username") + '\u0000' + rs.getInt("course_id"));
+            if (delta != null) {
+                delta.answeredQuizIds.add(rs.getInt("quiz_id"));
+            }
+        }
+        rs.close();
+        stmt.close();
+    }
+    
+    /**
+     * Pads an IN list to the next power of four by repeating its last value, so each
+     * query has a handful of SQL shapes instead of one per list length; every shape
+     * takes a slot, and a server-side statement, in the pool's statement cache
+     */
+    private static <T> List<T> padInList(List<T> values) {
+        if (values.isEmpty()) {
+            return values;
+        }
+        int size = 1;
+        while (size < values.size()) {
+            size *= 4;
+        }
+        List<T> padded = new ArrayList<>(values);
+        while (padded.size() < size) {
+            padded.add(values.get(values.size() - 1));
+        }
+        return padded;
+    }
+    
+    private static String placeholders(String placeholder, int count) {
+        return String.join(", ", Collections.nCopies(count, placeholder));
     }
     
     /**
-     * Ensures a course exists in the database
+     * Change to one student's score aggregate for a course
      */
-    private int ensureCourseExists(String courseName) throws SQLException {
-        // Check if course exists
-        PreparedStatement checkStmt = conn.prepareStatement(
-            "SELECT id FROM courses WHERE courseName = ?"
-        );
-        checkStmt.setString(1, courseName);
-        ResultSet rs = checkStmt.executeQuery();
+    private static class ScoreDelta {
+        final String username;
+        final int courseId;
+        // Questions the student has answered before or earlier in this batch
+        final Set<Integer> answeredQuizIds = new HashSet<>();
+        int newQuestions;
+        int correctAnswers;
+        Timestamp latest;
         
-        if (rs.next()) {
-            int courseId = rs.getInt("id");
-            rs.close();
-            checkStmt.close();
-            return courseId;
+        ScoreDelta(String username, int courseId) {
+            this.username = username;
+            this.courseId = courseId;
         }
         
-        rs.close();
-        checkStmt.close();
-        
-        // Course doesn't exist, create it
-        PreparedStatement insertStmt = conn.prepareStatement(
-            "INSERT INTO courses (courseName) VALUES (?)",
-            Statement.RETURN_GENERATED_KEYS
-        );
-        insertStmt.setString(1, courseName);
-        insertStmt.executeUpdate();
+        void add(int quizId, int score, Timestamp submittedAt) {
+            if (answeredQuizIds.add(quizId)) {
+                newQuestions++;
+            }
+            correctAnswers += score;
+            if (latest == null || submittedAt.after(latest)) {
+                latest = submittedAt;
+            }
+        }
+    }
+    
+    /**
+     * Loads the full answer key for a course with a single query
+     */
+    private AnswerKey loadCourseAnswerKey(Connection conn, int courseId) throws SQLException {
+        AnswerKey.Builder builder = new AnswerKey.Builder();
         
-        // Get the generated course ID
-        rs = insertStmt.getGeneratedKeys();
-        int courseId = -1;
+        PreparedStatement stmt = conn.prepareStatement(COURSE_ANSWER_KEY_SQL);
+        stmt.setInt(1, courseId);
         
-        if (rs.next()) {
-            courseId = rs.getInt(1);
+        ResultSet rs = stmt.executeQuery();
+        while (rs.next()) {
+            builder.put(rs.getInt("id"), rs.getString("correct_answer"));
         }
         
         rs.close();
-        insertStmt.close();
+        stmt.close();
         
-        return courseId;
+        return builder.build();
     }
     
     /**
-     * Gets all courses from the database
+     * Loads the correct answers for the given quiz ids with a single IN query
      */
-    public List<String> getCourses() {
-        List<String> courses = new ArrayList<>();
+    private Map<Integer, String> loadAnswerKey(Connection conn, Collection<Integer> quizIds) throws SQLException {
+        Map<Integer, String> answerKey = new HashMap<>();
+        List<Integer> ids = padInList(new ArrayList<>(quizIds));
         
-        try {
-            Statement stmt = conn.createStatement();
-            ResultSet rs = stmt.executeQuery("SELECT courseName FROM courses");
-            
-            while (rs.next()) {
-                courses.add(rs.getString("courseName"));
-            }
-            
-            rs.close();
-            stmt.close();
-        } catch (SQLException e) {
-            System.err.println("Error getting courses: " + e.getMessage());
-            e.printStackTrace();
+        PreparedStatement stmt = conn.prepareStatement(
+            "SELECT id, correct_answer FROM quizzes WHERE id IN (" + placeholders("?", ids.size()) + ")"
+        );
+        for (int i = 0; i < ids.size(); i++) {
+            stmt.setInt(i + 1, ids.get(i));
         }
         
-        return courses;
+        ResultSet rs = stmt.executeQuery();
+        while (rs.next()) {
+            answerKey.put(rs.getInt("id"), rs.getString("correct_answer"));
+        }
+        
+        rs.close();
+        stmt.close();
+        
+        return answerKey;
     }
     
     /**
-     * Gets materials for a specific course
+     * Gets student scores for professors from the maintained per-student aggregates
      */
-    public List<String[]> getCourseMaterials(String courseName) {
-        List<String[]> materials = new ArrayList<>();
+    public List<String[]> getStudentScores(String courseName) {
+        List<String[]> scores = new ArrayList<>();
         
-        try {
-            PreparedStatement stmt = conn.prepareStatement(
-                "SELECT m.id, m.fileName, m.filePath FROM materials m " +
-                "JOIN courses c ON m.course_id = c.id " +
-                "WHERE c.courseName = ?"
-            );
-            stmt.setString(1, courseName);
+        OperationMetrics.Call call = GET_STUDENT_SCORES.begin();
+        try (Connection conn = borrowConnection()) {
+            Integer courseId = courseRegistry.getId(conn, courseName);
+            if (courseId == null) {
+                return scores;
+            }
+            
+            PreparedStatement stmt = conn.prepareStatement(COURSE_SCORES_SQL);
+            stmt.setInt(1, courseId);
             
             ResultSet rs = stmt.executeQuery();
             
+            SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+            
             while (rs.next()) {
-                String[] material = new String[3];
-                material[0] = rs.getString("fileName");
-                material[1] = rs.getString("filePath");
-                material[2] = rs.getString("id");
-                materials.add(material);
+                scores.add(toScoreRow(rs.getString("username"), rs, dateFormat));
             }
             
             rs.close();
             stmt.close();
+            call.rows(scores.size());
         } catch (SQLException e) {
-            System.err.println("Error getting materials: " + e.getMessage());
+            call.fail();
+            System.err.println("Error getting student scores: " + e.getMessage());
             e.printStackTrace();
+        } finally {
+            call.end();
         }
         
-        return materials;
+        return scores;
     }
     
     /**
-     * Gets quizzes for a specific course
+     * Gets one page of a course's student scores, ordered by username.
+     * Keyset paging: pass the last username of the previous page (or null for the
+     * first page), so every page costs the same however far into the course it is.
      */
-    public List<Quiz> getCourseQuizzes(String courseName) {
-        List<Quiz> quizzes = new ArrayList<>();
+    public List<String[]> getStudentScoresPage(String courseName, String afterUsername, int pageSize) {
+        List<String[]> scores = new ArrayList<>();
         
-        try {
-            PreparedStatement stmt = conn.prepareStatement(
-                "SELECT q.id, q.question, q.option_a, q.option_b, q.option_c, q.option_d, q.correct_answer " +
-                "FROM quizzes q " +
-                "JOIN courses c ON q.course_id = c.id " +
-                "WHERE c.courseName = ?"
-            );
-            stmt.setString(1, courseName);
+        OperationMetrics.Call call = GET_STUDENT_SCORES_PAGE.begin();
+        try (Connection conn = borrowConnection()) {
+            Integer courseId = courseRegistry.getId(conn, courseName);
+            if (courseId == null) {
+                return scores;
+            }
+            
+            PreparedStatement stmt = conn.prepareStatement(COURSE_SCORES_PAGE_SQL);
+            stmt.setInt(1, courseId);
+            stmt.setString(2, afterUsername != null ? afterUsername : "");
+            stmt.setInt(3, pageSize);
             
             ResultSet rs = stmt.executeQuery();
             
+            SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+            
             while (rs.next()) {
-                int id = rs.getInt("id");
-                String question = rs.getString("question");
-                List<String> options = Arrays.asList(
-                    rs.getString("option_a"),
-                    rs.getString("option_b"),
-                    rs.getString("option_c"),
-                    rs.getString("option_d")
-                );
-                String answer = rs.getString("correct_answer");
-                
-                Quiz quiz = new Quiz(id, question, options, answer);
-                quizzes.add(quiz);
+                scores.add(toScoreRow(rs.getString("username"), rs, dateFormat));
             }
             
             rs.close();
             stmt.close();
+            call.rows(scores.size());
         } catch (SQLException e) {
-            System.err.println("Error getting quizzes: " + e.getMessage());
+            call.fail();
+            System.err.println("Error getting student scores page: " + e.getMessage());
             e.printStackTrace();
+        } finally {
+            call.end();
         }
         
-        return quizzes;
+        return scores;
     }
     
     /**
-     * Submits quiz answers and calculates score
+     * Counts the students with scores in a course
      */
-    public int submitQuizAnswers(String username, String courseName, Map<Integer, String> answers) {
-        int totalScore = 0;
-        int totalQuestions = answers.size();
-        
-        try {
-            // Get course ID
-            PreparedStatement courseStmt = conn.prepareStatement(
-                "SELECT id FROM courses WHERE courseName = ?"
-            );
-            courseStmt.setString(1, courseName);
-            ResultSet courseRs = courseStmt.executeQuery();
-            
-            if (!courseRs.next()) {
-                courseRs.close();
-                courseStmt.close();
+    public int countStudentScores(String courseName) {
+        OperationMetrics.Call call = COUNT_STUDENT_SCORES.begin();
+        try (Connection conn = borrowConnection()) {
+            Integer courseId = courseRegistry.getId(conn, courseName);
+            if (courseId == null) {
                 return 0;
             }
             
-            int courseId = courseRs.getInt("id");
-            courseRs.close();
-            courseStmt.close();
-            
-            // For each answer, check if correct and save submission
-            PreparedStatement submitStmt = conn.prepareStatement(
-                "INSERT INTO quiz_submissions (username, course_id, quiz_id, answer, score) VALUES (?, ?, ?, ?, ?)"
-            );
-            
-            for (Map.Entry<Integer, String> entry : answers.entrySet()) {
-                int quizId = entry.getKey();
-                String answer = entry.getValue();
-                
-                // Get correct answer
-                PreparedStatement quizStmt = conn.prepareStatement(
-                    "SELECT correct_answer FROM quizzes WHERE id = ?"
-                );
-                quizStmt.setInt(1, quizId);
-                ResultSet quizRs = quizStmt.executeQuery();
-                
-                int questionScore = 0;
-                if (quizRs.next()) {
-                    String correctAnswer = quizRs.getString("correct_answer");
-                    // Check if answer matches exactly
-                    if (answer.equals(correctAnswer)) {
-                        questionScore = 1;
-                        totalScore++;
-                    }
-                }
-                quizRs.close();
-                quizStmt.close();
-                
-                // Save submission
-                submitStmt.setString(1, username);
-                submitStmt.setInt(2, courseId);
-                submitStmt.setInt(3, quizId);
-                submitStmt.setString(4, answer);
-                submitStmt.setInt(5, questionScore);
-                submitStmt.executeUpdate();
-            }
-            
-            submitStmt.close();
-        } catch (SQLException e) {
-            System.err.println("Error submitting quiz answers: " + e.getMessage());
-            e.printStackTrace();
-        }
-        
-        // Calculate percentage score
-        return totalQuestions > 0 ? (totalScore * 100) / totalQuestions : 0;
-    }
-    
-    /**
-     * Gets student scores for professors
-     */
-    public List<String[]> getStudentScores(String courseName) {
-        List<String[]> scores = new ArrayList<>();
-        
-        try {
             PreparedStatement stmt = conn.prepareStatement(
-                "SELECT " +
-                "qs.username, " +
-                "COUNT(DISTINCT qs.quiz_id) as total_questions, " +
-                "SUM(qs.score) as correct_answers, " +
-                "MAX(qs.submission_date) as latest_submission " +
-                "FROM quiz_submissions qs " +
-                "JOIN courses c ON qs.course_id = c.id " +
-                "WHERE c.courseName = ? " +
-                "GROUP BY qs.username " +
-                "ORDER BY qs.username"
+                "SELECT COUNT(*) FROM score_aggregates WHERE course_id = ? AND latest_submission IS NOT NULL"
             );
-            stmt.setString(1, courseName);
+            stmt.setInt(1, courseId);
             
             ResultSet rs = stmt.executeQuery();
-            
-            SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
-            
-            while (rs.next()) {
-                String[] score = new String[5];
-                score[0] = rs.getString("username");
-                score[1] = "Course Quiz";
-                int totalQuestions = rs.getInt("total_questions");
-                int correctAnswers = rs.getInt("correct_answers");
-                score[2] = correctAnswers + "/" + totalQuestions;
-                double percentage = totalQuestions > 0 ? (correctAnswers * 100.0) / totalQuestions : 0;
-                score[3] = String.format("%.1f%%", percentage);
-                score[4] = dateFormat.format(rs.getTimestamp("latest_submission"));
-                scores.add(score);
-            }
+            int count = rs.next() ? rs.getInt(1) : 0;
             
             rs.close();
             stmt.close();
+            call.rows(1);
+            return count;
         } catch (SQLException e) {
-            System.err.println("Error getting student scores: " + e.getMessage());
+            call.fail();
+            System.err.println("Error counting student scores: " + e.getMessage());
             e.printStackTrace();
+            return 0;
+        } finally {
+            call.end();
         }
-        
-        return scores;
     }
     
     /**
-     * Gets a student's score history
+     * Formats one score_aggregates row for the score tables
+     */
+    private static String[] toScoreRow(String name, ResultSet rs, SimpleDateFormat dateFormat) throws SQLException {
+        String[] score = new String[5];
+        score[0] = name;
+        score[1] = "Course Quiz";
+        int totalQuestions = rs.getInt("total_questions");
+        int correctAnswers = rs.getInt("correct_answers");
+        score[2] = correctAnswers + "/" + totalQuestions;
+        double percentage = totalQuestions > 0 ? (correctAnswers * 100.0) / totalQuestions : 0;
+        score[3] = String.format("%.1f%%", percentage);
+        score[4] = dateFormat.format(rs.getTimestamp("latest_submission"));
+        return score;
+    }
+    
+    /**
+     * Gets a student's score history from the maintained per-course aggregates
      */
     public List<String[]> getStudentScoreHistory(String username) {
         List<String[]> scoreHistory = new ArrayList<>();
         
-        try {
-            PreparedStatement stmt = conn.prepareStatement(
-                "SELECT " +
-                "c.courseName, " +
-                "COUNT(DISTINCT qs.quiz_id) as total_questions, " +
-                "SUM(qs.score) as correct_answers, " +
-                "MAX(qs.submission_date) as latest_submission " +
-                "FROM quiz_submissions qs " +
-                "JOIN courses c ON qs.course_id = c.id " +
-                "WHERE qs.username = ? " +
-                "GROUP BY c.courseName, c.id " +
-                "ORDER BY MAX(qs.submission_date) DESC"
-            );
+        OperationMetrics.Call call = GET_STUDENT_SCORE_HISTORY.begin();
+        try (Connection conn = borrowConnection()) {
+            PreparedStatement stmt = conn.prepareStatement(SCORE_HISTORY_SQL);
             stmt.setString(1, username);
             
             ResultSet rs = stmt.executeQuery();
@@ -648,23 +1745,18 @@ public class backend {
             SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
             
             while (rs.next()) {
-                String[] score = new String[5];
-                score[0] = rs.getString("courseName");
-                score[1] = "Course Quiz";
-                int totalQuestions = rs.getInt("total_questions");
-                int correctAnswers = rs.getInt("correct_answers");
-                score[2] = correctAnswers + "/" + totalQuestions;
-                double percentage = totalQuestions > 0 ? (correctAnswers * 100.0) / totalQuestions : 0;
-                score[3] = String.format("%.1f%%", percentage);
-                score[4] = dateFormat.format(rs.getTimestamp("latest_submission"));
-                scoreHistory.add(score);
+                scoreHistory.add(toScoreRow(courseRegistry.getName(conn, rs.getInt("course_id")), rs, dateFormat));
             }
             
             rs.close();
             stmt.close();
+            call.rows(scoreHistory.size());
         } catch (SQLException e) {
+            call.fail();
             System.err.println("Error getting student score history: " + e.getMessage());
             e.printStackTrace();
+        } finally {
+            call.end();
         }
         
         return scoreHistory;
@@ -674,8 +1766,13 @@ public class backend {
      * Opens a PDF file
      */
     public void openPDF(String filePath) {
+        OperationMetrics.Call call = OPEN_PDF.begin();
         try {
             File pdfFile = new File(filePath);
+            if (pdfFile.exists() && !pdfFile.getName().contains(".")) {
+                // Blobs are stored by hash alone; give the desktop a .pdf name to open
+                pdfFile = blobStore.viewPath(pdfFile.toPath(), ".pdf").toFile();
+            }
             
             if (pdfFile.exists()) {
                 // Try to open the PDF with the default system application
@@ -685,363 +1782,45 @@ public class backend {
                     System.out.println("Cannot open PDF automatically. File is located at: " + filePath);
                 }
             } else {
+                call.fail();
                 System.out.println("PDF file not found at: " + filePath);
             }
         } catch (IOException e) {
+            call.fail();
             System.err.println("Error opening PDF: " + e.getMessage());
             e.printStackTrace();
+        } finally {
+            call.end();
         }
     }
     
     /**
-     * Closes the database connection
+     * Stops this instance's workers. Closing the last open instance also drains the
+     * submission log and closes the shared connection pool.
      */
     public void close() {
-        try {
-            if (conn != null && !conn.isClosed()) {
-                conn.close();
-            }
-        } catch (SQLException e) {
-            System.err.println("Error closing database connection: " + e.getMessage());
-            e.printStackTrace();
-        }
-    }
-}
-
-/**
- * Quiz class - Model for quiz questions
- */
-class Quiz {
-    private int id;
-    private String question;
-    private List<String> options;
-    private String answer;
-    
-    public Quiz(String question, List<String> options, String answer) {
-        this.id = -1;
-        this.question = question;
-        this.options = options;
-        this.answer = answer;
-    }
-    
-    public Quiz(int id, String question, List<String> options, String answer) {
-        this.id = id;
-        this.question = question;
-        this.options = options;
-        this.answer = answer;
-    }
-    
-    public int getId() {
-        return id;
-    }
-    
-    public String getQuestion() {
-        return question;
-    }
-    
-    public List<String> getOptions() {
-        return options;
-    }
-    
-    public String getAnswer() {
-        return answer;
-    }
-}
-
-/**
- * QuizFactory class - Factory pattern for creating quizzes
- */
-class QuizFactory {
-    private Random random = new Random();
-    
-    /**
-     * Creates a list of quizzes from PDF text
-     */
-    public List<Quiz> createQuizzes(String pdfText, String courseName, int count) {
-        List<Quiz> quizzes = new ArrayList<>();
-        
-        // Generate quiz questions based on course
-        QuizGenerationStrategy strategy;
-        if (courseName.contains("Cloud Computing")) {
-            strategy = new CloudComputingQuizStrategy();
-        } else if (courseName.contains("OOAD")) {
-            strategy = new OOADQuizStrategy();
-        } else if (courseName.contains("Computer Design")) {
-            strategy = new ComputerDesignQuizStrategy();
-        } else {
-            strategy = new DefaultQuizStrategy();
-        }
-        
-        // Generate quizzes using the selected strategy
-        quizzes = strategy.generateQuizzes(pdfText, count);
-        
-        return quizzes;
-    }
-}
-
-/**
- * QuizGenerationStrategy interface - Strategy pattern
- */
-interface QuizGenerationStrategy {
-    List<Quiz> generateQuizzes(String pdfText, int count);
-}
-
-/**
- * DefaultQuizStrategy class - Default implementation of QuizGenerationStrategy
- */
-class DefaultQuizStrategy implements QuizGenerationStrategy {
-    private Random random = new Random();
-    
-    @Override
-    public List<Quiz> generateQuizzes(String pdfText, int count) {
-        List<Quiz> quizzes = new ArrayList<>();
-        
-        // Split text into sentences
-        String[] sentences = pdfText.split("[.!?]+");
-        
-        // Generate questions based on the content
-        for (int i = 0; i < count && i < sentences.length; i++) {
-            String sentence = sentences[i].trim();
-            if (sentence.length() < 20) continue; // Skip very short sentences
-            
-            // Create a question from the sentence
-            String question = createQuestionFromSentence(sentence);
-            List<String> options = generateOptionsFromSentence(sentence);
-            
-            // Shuffle options
-            Collections.shuffle(options);
-            
-            // Find the position of the correct answer after shuffling
-            char answerLetter = (char)('A' + options.indexOf(options.get(0)));
-            
-            quizzes.add(new Quiz(question, options, String.valueOf(answerLetter)));
-        }
-        
-        // If we couldn't generate enough quizzes, add some default ones
-        if (quizzes.size() < count) {
-            String[] defaultQuestions = {
-                "What is the main purpose of this course?",
-                "Which concept is most fundamental to this subject?",
-                "How would you apply these concepts in a real-world scenario?",
-                "What are the key benefits of understanding this subject?",
-                "Which of the following is NOT related to this course?"
-            };
-            
-            for (int i = quizzes.size(); i < count && i < defaultQuestions.length; i++) {
-                List<String> options = generateGenericOptions();
-                String correctAnswer = options.get(0); // First option is correct
-                
-                // Shuffle options
-                Collections.shuffle(options);
-                
-                // Find the position of the correct answer after shuffling
-                char answerLetter = (char)('A' + options.indexOf(correctAnswer));
-                
-                quizzes.add(new Quiz(defaultQuestions[i], options, String.valueOf(answerLetter)));
-            }
-        }
-        
-        return quizzes;
-    }
-    
-    private String createQuestionFromSentence(String sentence) {
-        // Simple question generation by removing key terms
-        if (sentence.contains("is a")) {
-            return sentence.replaceAll("is a.*", "is a what?");
-        } else if (sentence.contains("are")) {
-            return sentence.replaceAll("are.*", "are what?");
-        } else if (sentence.contains("include")) {
-            return sentence.replaceAll("include.*", "include what?");
-        } else if (sentence.contains("involves")) {
-            return sentence.replaceAll("involves.*", "involves what?");
-        } else {
-            return "What is the main concept described in: " + sentence.substring(0, Math.min(50, sentence.length())) + "...?";
-        }
-    }
-    
-    private List<String> generateOptionsFromSentence(String sentence) {
-        List<String> options = new ArrayList<>();
-        
-        // Extract key terms from the sentence
-        String[] words = sentence.split("\\s+");
-        List<String> keyTerms = new ArrayList<>();
-        
-        for (String word : words) {
-            if (word.length() > 4 && !word.equals("which") && !word.equals("what") && 
-                !word.equals("this") && !word.equals("that") && !word.equals("with") && 
-                !word.equals("from") && !word.equals("have") && !word.equals("they")) {
-                keyTerms.add(word);
-            }
+        if (!closed.compareAndSet(false, true)) {
+            return;
         }
-        
-        // Use key terms as options
-        if (keyTerms.size() >= 4) {
-            // Shuffle and take 4 terms
-            Collections.shuffle(keyTerms);
-            for (int i = 0; i < 4; i++) {
-                options.add(keyTerms.get(i));
+        uploadPipeline.shutdown();
+        pdfTextExtractor.shutdown();
+        synchronized (backend.class) {
+            if (--openInstances > 0) {
+                // Other instances are still using the shared pool and log
+                return;
             }
-        } else {
-            // Not enough key terms, use generic options
-            options = generateGenericOptions();
-        }
-        
-        return options;
-    }
-    
-    protected List<String> generateGenericOptions() {
-        List<String> options = new ArrayList<>();
-        options.add("The correct answer");
-        options.add("An incorrect option");
-        options.add("Another wrong choice");
-        options.add("Yet another distractor");
-        return options;
-    }
-}
-
-/**
- * CloudComputingQuizStrategy class - Strategy for Cloud Computing quizzes
- */
-class CloudComputingQuizStrategy implements QuizGenerationStrategy {
-    @Override
-    public List<Quiz> generateQuizzes(String pdfText, int count) {
-        List<Quiz> quizzes = new ArrayList<>();
-        
-        // Cloud Computing specific questions
-        String[][] questionsAndAnswers = {
-            {"What is the primary service model that provides virtual machines in the cloud?", 
-             "Infrastructure as a Service (IaaS)", "Platform as a Service (PaaS)", 
-             "Software as a Service (SaaS)", "Function as a Service (FaaS)"},
-            
-            {"Which of the following is NOT a major cloud service provider?", 
-             "Nokia Cloud", "Amazon Web Services", 
-             "Microsoft Azure", "Google Cloud Platform"},
-            
-            {"What is the main benefit of cloud elasticity?", 
-             "Resources can scale up or down based on demand", "Lower initial costs", 
-             "Better security", "Improved data privacy"},
-            
-            {"Which deployment model offers the most control over security?", 
-             "Private cloud", "Public cloud", 
-             "Hybrid cloud", "Community cloud"},
-            
-            {"What technology is fundamental to cloud computing virtualization?", 
-             "Hypervisors", "Web browsers", 
-             "SQL databases", "Blockchain"}
-        };
-        
-        for (int i = 0; i < count && i < questionsAndAnswers.length; i++) {
-            List<String> options = new ArrayList<>();
-            for (int j = 1; j <= 4; j++) {
-                options.add(questionsAndAnswers[i][j]);
+            if (submissionLog != null) {
+                submissionLog.close();
+                submissionLog = null;
             }
-            
-            // First option is correct
-            String correctAnswer = "A";
-            
-            quizzes.add(new Quiz(questionsAndAnswers[i][0], options, correctAnswer));
-        }
-        
-        return quizzes;
-    }
-}
-
-/**
- * OOADQuizStrategy class - Strategy for OOAD quizzes
- */
-class OOADQuizStrategy implements QuizGenerationStrategy {
-    @Override
-    public List<Quiz> generateQuizzes(String pdfText, int count) {
-        List<Quiz> quizzes = new ArrayList<>();
-        
-        // OOAD specific questions
-        String[][] questionsAndAnswers = {
-            {"Which of the following is a key principle of object-oriented design?", 
-             "Encapsulation", "Procedural programming", 
-             "Functional decomposition", "Linear execution"},
-            
-            {"What UML diagram is best for showing class relationships?", 
-             "Class diagram", "Sequence diagram", 
-             "Activity diagram", "Use case diagram"},
-            
-            {"Which design pattern is used to create objects without specifying their concrete classes?", 
-             "Factory Method", "Singleton", 
-             "Observer", "Decorator"},
-            
-            {"What is inheritance in OOP?", 
-             "A mechanism where a class inherits properties and behaviors from another class", 
-             "A way to hide implementation details", 
-             "A method to create multiple instances of a class", 
-             "A technique to override methods"},
-            
-            {"Which SOLID principle states that a class should have only one reason to change?", 
-             "Single Responsibility Principle", "Open/Closed Principle", 
-             "Liskov Substitution Principle", "Interface Segregation Principle"}
-        };
-        
-        for (int i = 0; i < count && i < questionsAndAnswers.length; i++) {
-            List<String> options = new ArrayList<>();
-            for (int j = 1; j <= 4; j++) {
-                options.add(questionsAndAnswers[i][j]);
+            if (pool != null) {
+                QueryStats queryStats = pool.getQueryStats();
+                if (queryStats != null) {
+                    queryStats.close();
+                }
+                pool.close();
+                pool = null;
             }
-            
-            // First option is correct
-            String correctAnswer = "A";
-            
-            quizzes.add(new Quiz(questionsAndAnswers[i][0], options, correctAnswer));
         }
-        
-        return quizzes;
     }
 }
-
-/**
- * ComputerDesignQuizStrategy class - Strategy for Computer Design quizzes
- */
-class ComputerDesignQuizStrategy implements QuizGenerationStrategy {
-    @Override
-    public List<Quiz> generateQuizzes(String pdfText, int count) {
-        List<Quiz> quizzes = new ArrayList<>();
-        
-        // Computer Design specific questions
-        String[][] questionsAndAnswers = {
-            {"What is the purpose of the ALU in a CPU?", 
-             "To perform arithmetic and logical operations", "To store program instructions", 
-             "To manage memory access", "To control input/output operations"},
-            
-            {"Which memory type is volatile?", 
-             "RAM", "ROM", 
-             "Hard Disk", "Flash Memory"},
-            
-            {"What does the Von Neumann architecture describe?", 
-             "A computer design with shared memory for instructions and data", 
-             "A computer with separate instruction and data memories", 
-             "A computer without a central processing unit", 
-             "A computer that can only execute one instruction at a time"},
-            
-            {"What is pipelining in CPU design?", 
-             "A technique where multiple instructions are overlapped in execution", 
-             "A method to increase the clock speed of the processor", 
-             "A way to reduce the number of transistors in a CPU", 
-             "A technique to eliminate the need for cache memory"},
-            
-            {"Which of the following is NOT a type of computer bus?", 
-             "Processing Bus", "Data Bus", 
-             "Address Bus", "Control Bus"}
-        };
-        
-        for (int i = 0; i < count && i < questionsAndAnswers.length; i++) {
-            List<String> options = new ArrayList<>();
-            for (int j = 1; j <= 4; j++) {
-                options.add(questionsAndAnswers[i][j]);
-            }
-            
-            // First option is correct
-            String correctAnswer = "A";
-            
-            quizzes.add(new Quiz(questionsAndAnswers[i][0], options, correctAnswer));
-        }
-        
-        return quizzes;
-    }
-}
\ No newline at end of file
@@ -1,23 +1,28 @@
 import javax.swing.*;
 import javax.swing.border.*;
 import javax.swing.filechooser.FileNameExtensionFilter;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.awt.event.*;
 import java.io.File;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.Observable;
-import java.util.Observer;
+import java.util.OptionalInt;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Frontend class implementing MVC architecture
  * - View: UI components
  * - Controller: Event handlers that interact with the model
  */
-public class frontend extends JFrame implements Observer {
+public class frontend extends JFrame {
     // MVC Components
     private LMSController controller;
     
@@ -36,11 +41,13 @@ public class frontend extends JFrame implements Observer {
     // Login components
     private JTextField loginUsernameField;
     private JPasswordField loginPasswordField;
+    private JButton loginButton;
     
     // Register components
     private JTextField registerUsernameField;
     private JPasswordField registerPasswordField;
     private JComboBox<String> userTypeComboBox;
+    private JButton registerButton;
     
     // Professor dashboard components
     private JComboBox<String> subjectComboBox;
@@ -53,11 +60,18 @@ public class frontend extends JFrame implements Observer {
     // Student dashboard components
     private JComboBox<String> courseComboBox;
     private JPanel materialsPanel;
-    private JPanel quizPanel;
-    private Map<Integer, ButtonGroup> quizAnswerGroups;
-    private Map<Integer, Map<String, JRadioButton>> quizOptions;
+    private JLabel quizTitleLabel;
+    private QuizView quizView;
+    private JButton submitQuizButton;
+    // Course whose quizzes quizView is showing
+    private String quizCourse;
     private String currentCourse;
     
+    // In-flight loads, cancelled when the user picks another course
+    private CompletableFuture<?> materialsLoad;
+    private CompletableFuture<?> quizzesLoad;
+    private CompletableFuture<?> scoresLoad;
+    
     // Current user info
     private String currentUsername;
     private String currentUserType;
@@ -66,13 +80,16 @@ public class frontend extends JFrame implements Observer {
         "OOAD", "Cloud Computing", "Computer Design", "GENAI", "Robotics"
     };
     
+    // Rows fetched per request by the professor scores table
+    private static final int SCORES_PAGE_SIZE = 100;
+    
     /**
      * Constructor - initializes the UI
      */
     public frontend() {
         // Initialize controller
         controller = new LMSController();
-        controller.addObserver(this);
+        subscribeToEvents();
         
         // Setup frame
         setTitle("Learning Management System");
@@ -102,24 +119,61 @@ public class frontend extends JFrame implements Observer {
         
         // Add main panel to frame
         add(mainPanel);
+        
+        waitForBackend();
     }
     
     /**
-     * Observer pattern implementation
-     * Updates the UI based on model changes
+     * Keeps login and registration disabled until the backend has finished starting
      */
-    @Override
-    public void update(Observable o, Object arg) {
-        if (arg instanceof String) {
-            String message = (String) arg;
-            if (message.equals("COURSES_UPDATED")) {
-                loadCourses();
-                refreshProfessorCoursesList();
-            } else if (message.equals("QUIZ_SUBMITTED")) {
-                JOptionPane.showMessageDialog(this, 
-                    "Quiz submitted! Your score: " + controller.getLastQuizScore() + "%",
-                    "Quiz Result", JOptionPane.INFORMATION_MESSAGE);
+    private void waitForBackend() {
+        loginButton.setEnabled(false);
+        registerButton.setEnabled(false);
+        loginButton.setText("Connecting...");
+        controller.whenReady().whenComplete((ready, error) -> {
+            loginButton.setText("Login");
+            loginButton.setEnabled(true);
+            registerButton.setEnabled(true);
+            if (error != null) {
+                showBackendError("Startup Error", "Could not start the backend", error);
             }
+        });
+    }
+    
+    /**
+     * Subscribes to controller events; every handler runs on the EDT.
+     * Bursts of course updates collapse into a single refresh.
+     */
+    private void subscribeToEvents() {
+        LMSEventBus events = controller.getEventBus();
+        events.subscribe(CoursesUpdatedEvent.class, SwingUtilities::invokeLater, event -> {
+            loadCourses();
+            refreshProfessorCoursesList();
+        }, 16);
+        events.subscribe(QuizSubmittedEvent.class, SwingUtilities::invokeLater, event ->
+            JOptionPane.showMessageDialog(this,
+                "Quiz submitted! Your score: " + event.getScore() + "%",
+                "Quiz Result", JOptionPane.INFORMATION_MESSAGE), 16);
+        events.subscribe(UploadFinishedEvent.class, SwingUtilities::invokeLater, event -> showUploadResult(event.getJob()), 64);
+    }
+    
+    /**
+     * Reports a finished upload job
+     */
+    private void showUploadResult(UploadJob job) {
+        if (job.getStatus() == UploadJob.Status.COMPLETED && job.isAlreadyProcessed()) {
+            JOptionPane.showMessageDialog(this,
+                job.getFile().getName() + " has already been uploaded to " + job.getCourseName(),
+                "Upload", JOptionPane.INFORMATION_MESSAGE);
+        } else if (job.getStatus() == UploadJob.Status.COMPLETED) {
+            JOptionPane.showMessageDialog(this,
+                "Finished processing " + job.getFile().getName() + " for " + job.getCourseName() +
+                " (" + job.getQuizCount() + " quiz questions generated)",
+                "Upload", JOptionPane.INFORMATION_MESSAGE);
+        } else {
+            JOptionPane.showMessageDialog(this,
+                "Upload of " + job.getFile().getName() + " failed: " + job.getError(),
+                "Upload Error", JOptionPane.ERROR_MESSAGE);
         }
     }
     
@@ -169,7 +223,7 @@ public class frontend extends JFrame implements Observer {
         gbc.gridy = 2;
         gbc.gridwidth = 2;
         gbc.weightx = 1.0;
-        JButton loginButton = new JButton("Login");
+        loginButton = new JButton("Login");
         loginButton.addActionListener(e -> handleLogin());
         formPanel.add(loginButton, gbc);
         
@@ -249,7 +303,7 @@ public class frontend extends JFrame implements Observer {
         gbc.gridy = 3;
         gbc.gridwidth = 2;
         gbc.weightx = 1.0;
-        JButton registerButton = new JButton("Register");
+        registerButton = new JButton("Register");
         registerButton.addActionListener(e -> handleRegister());
         formPanel.add(registerButton, gbc);
         
@@ -356,7 +410,8 @@ public class frontend extends JFrame implements Observer {
         
         // Table to display student scores
         String[] columnNames = {"Student", "Quiz", "Score", "Percentage", "Date"};
-        DefaultTableModel tableModel = new DefaultTableModel(columnNames, 0);
+        // Pages of SCORES_PAGE_SIZE rows are fetched as the table scrolls
+        ScoresTableModel tableModel = new ScoresTableModel(columnNames, SCORES_PAGE_SIZE, 10);
         JTable scoresTable = new JTable(tableModel);
         JScrollPane scrollPane = new JScrollPane(scoresTable);
         scoresPanel.add(scrollPane, BorderLayout.CENTER);
@@ -377,25 +432,42 @@ public class frontend extends JFrame implements Observer {
         
         // Load courses for the scores dropdown when professor logs in
         scoresCourseComboBox.addItem("Select a course");
-        List<String> courses = controller.getCourses();
-        for (String course : courses) {
-            scoresCourseComboBox.addItem(course);
+        controller.getCourses().thenAccept(courses -> {
+            for (String course : courses) {
+                scoresCourseComboBox.addItem(course);
+            }
+        });
+    }
+    
+    /**
+     * Points the scores table at a course; rows are then paged in as they are shown
+     */
+    private void loadStudentScores(String courseName, ScoresTableModel tableModel) {
+        if (scoresLoad != null) {
+            scoresLoad.cancel(false);
         }
+        // Keep the source future: cancelling it is what stops the callback below
+        CompletableFuture<Integer> load = controller.countStudentScores(courseName);
+        scoresLoad = load;
+        load.whenComplete((studentCount, error) -> {
+            if (error != null) {
+                showBackendError("Scores Error", "Could not load scores", error);
+                return;
+            }
+            tableModel.reset(studentCount,
+                (afterUsername, pageSize) -> controller.getStudentScoresPage(courseName, afterUsername, pageSize));
+        });
     }
     
     /**
-     * Loads student scores for a specific course
+     * Reports a failed background call; cancelled calls are ignored
      */
-    private void loadStudentScores(String courseName, DefaultTableModel tableModel) {
-        // Clear existing data
-        tableModel.setRowCount(0);
-        
-        // Load scores from controller
-        List<String[]> scores = controller.getStudentScores(courseName);
-        
-        for (String[] score : scores) {
-            tableModel.addRow(score);
+    private void showBackendError(String title, String message, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof CancellationException) {
+            return;
         }
+        JOptionPane.showMessageDialog(this, message + ": " + cause.getMessage(), title, JOptionPane.ERROR_MESSAGE);
     }
     
     /**
@@ -445,11 +517,22 @@ public class frontend extends JFrame implements Observer {
         JScrollPane materialsScrollPane = new JScrollPane(materialsPanel);
         tabbedPane.addTab("Materials", materialsScrollPane);
         
-        // Quiz panel
-        quizPanel = new JPanel();
-        quizPanel.setLayout(new BoxLayout(quizPanel, BoxLayout.Y_AXIS));
-        JScrollPane quizScrollPane = new JScrollPane(quizPanel);
-        tabbedPane.addTab("Quizzes", quizScrollPane);
+        // Quiz panel: one virtualized view reused for every course
+        JPanel quizPanel = new JPanel(new BorderLayout(0, 10));
+        quizTitleLabel = new JLabel();
+        quizTitleLabel.setFont(new Font("Arial", Font.BOLD, 14));
+        quizPanel.add(quizTitleLabel, BorderLayout.NORTH);
+        
+        quizView = new QuizView();
+        quizPanel.add(new JScrollPane(quizView), BorderLayout.CENTER);
+        
+        submitQuizButton = new JButton("Submit Answers");
+        submitQuizButton.setEnabled(false);
+        submitQuizButton.addActionListener(e -> submitQuizAnswers(quizCourse));
+        JPanel submitPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        submitPanel.add(submitQuizButton);
+        quizPanel.add(submitPanel, BorderLayout.SOUTH);
+        tabbedPane.addTab("Quizzes", quizPanel);
         
         // Scores panel for students
         JPanel studentScoresPanel = new JPanel();
@@ -472,6 +555,19 @@ public class frontend extends JFrame implements Observer {
      * Loads score history for the current student
      */
     private void loadStudentScoreHistory(JPanel scoresPanel) {
+        controller.getStudentScoreHistory(currentUsername).whenComplete((scoreHistory, error) -> {
+            if (error != null) {
+                showBackendError("Scores Error", "Could not load your scores", error);
+                return;
+            }
+            showStudentScoreHistory(scoresPanel, scoreHistory);
+        });
+    }
+    
+    /**
+     * Renders a student's score history
+     */
+    private void showStudentScoreHistory(JPanel scoresPanel, List<String[]> scoreHistory) {
         scoresPanel.removeAll();
         
         JLabel titleLabel = new JLabel("My Quiz Scores", JLabel.LEFT);
@@ -480,8 +576,6 @@ public class frontend extends JFrame implements Observer {
         scoresPanel.add(titleLabel);
         scoresPanel.add(Box.createRigidArea(new Dimension(0, 10)));
         
-        List<String[]> scoreHistory = controller.getStudentScoreHistory(currentUsername);
-        
         if (scoreHistory.isEmpty()) {
             JLabel noScoresLabel = new JLabel("You haven't taken any quizzes yet.");
             noScoresLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
@@ -522,8 +616,19 @@ public class frontend extends JFrame implements Observer {
             return;
         }
         
-        String userType = controller.loginUser(username, password);
-        
+        controller.loginUser(username, password).whenComplete((userType, error) -> {
+            if (error != null) {
+                showBackendError("Login Error", "Login failed", error);
+                return;
+            }
+            showLoginResult(username, userType);
+        });
+    }
+    
+    /**
+     * Switches to the dashboard for a successful login, or reports the failure
+     */
+    private void showLoginResult(String username, String userType) {
         if (userType != null) {
             currentUsername = username;
             currentUserType = userType;
@@ -570,8 +675,19 @@ public class frontend extends JFrame implements Observer {
             return;
         }
         
-        boolean success = controller.registerUser(username, password, userType);
-        
+        controller.registerUser(username, password, userType).whenComplete((success, error) -> {
+            if (error != null) {
+                showBackendError("Registration Error", "Registration failed", error);
+                return;
+            }
+            showRegisterResult(success);
+        });
+    }
+    
+    /**
+     * Reports the outcome of a registration
+     */
+    private void showRegisterResult(boolean success) {
         if (success) {
             JOptionPane.showMessageDialog(this, "Registration successful! You can now login.", "Registration", JOptionPane.INFORMATION_MESSAGE);
             cardLayout.show(mainPanel, "login");
@@ -610,9 +726,15 @@ public class frontend extends JFrame implements Observer {
         
         String subject = (String) subjectComboBox.getSelectedItem();
         
-        boolean success = controller.uploadMaterial(subject, selectedFile);
+        // Processing continues in the background; an UploadFinishedEvent reports when it finishes
+        UploadJob job = controller.uploadMaterial(subject, selectedFile);
         
-        JOptionPane.showMessageDialog(this, "Successfully uploaded", "Upload", JOptionPane.INFORMATION_MESSAGE);
+        if (job.getStatus() == UploadJob.Status.FAILED) {
+            // Rejected straight away (queue full); showUploadResult reports it and the file stays selected
+            return;
+        }
+        
+        JOptionPane.showMessageDialog(this, "Upload started (job #" + job.getId() + ")", "Upload", JOptionPane.INFORMATION_MESSAGE);
         filePathField.setText("");
         selectedFile = null;
     }
@@ -628,19 +750,62 @@ public class frontend extends JFrame implements Observer {
     }
     
     /**
-     * Loads materials and quizzes for a course
+     * Loads materials and quizzes for a course in the background.
+     * Loads still running for the previously selected course are cancelled.
      */
     private void loadCourseMaterials(String courseName) {
+        if (materialsLoad != null) {
+            materialsLoad.cancel(false);
+        }
+        if (quizzesLoad != null) {
+            quizzesLoad.cancel(false);
+        }
+        
         // Clear panels
+        showLoading(materialsPanel);
+        quizTitleLabel.setText("Loading...");
+        quizView.setQuizzes(Collections.emptyList());
+        submitQuizButton.setEnabled(false);
+        
+        // Keep the source futures: cancelling them is what stops the callbacks below
+        CompletableFuture<List<String[]>> materials = controller.getCourseMaterials(courseName);
+        CompletableFuture<List<Quiz>> quizzes = controller.getCourseQuizzes(courseName);
+        materialsLoad = materials;
+        quizzesLoad = quizzes;
+        
+        materials.whenComplete((materialList, error) -> {
+            if (error != null) {
+                showBackendError("Course Error", "Could not load materials", error);
+                return;
+            }
+            showCourseMaterials(materialList);
+        });
+        quizzes.whenComplete((quizList, error) -> {
+            if (error != null) {
+                showBackendError("Course Error", "Could not load quizzes", error);
+                return;
+            }
+            showCourseQuizzes(courseName, quizList);
+        });
+    }
+    
+    /**
+     * Replaces a panel's contents with a loading message
+     */
+    private void showLoading(JPanel panel) {
+        panel.removeAll();
+        JLabel loadingLabel = new JLabel("Loading...");
+        loadingLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
+        panel.add(loadingLabel);
+        panel.revalidate();
+        panel.repaint();
+    }
+    
+    /**
+     * Renders a course's materials
+     */
+    private void showCourseMaterials(List<String[]> materials) {
         materialsPanel.removeAll();
-        quizPanel.removeAll();
-        
-        // Initialize quiz answers maps
-        quizAnswerGroups = new HashMap<>();
-        quizOptions = new HashMap<>();
-        
-        // Load materials
-        List<String[]> materials = controller.getCourseMaterials(courseName);
         
         if (materials.isEmpty()) {
             JLabel noMaterialsLabel = new JLabel("No materials available for this course");
@@ -668,78 +833,18 @@ public class frontend extends JFrame implements Observer {
             }
         }
         
-        // Load quizzes
-        List<Quiz> quizzes = controller.getCourseQuizzes(courseName);
-        
-        if (quizzes.isEmpty()) {
-            JLabel noQuizzesLabel = new JLabel("No quizzes available for this course");
-            noQuizzesLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
-            quizPanel.add(noQuizzesLabel);
-        } else {
-            JLabel quizTitleLabel = new JLabel(courseName + " Quiz");
-            quizTitleLabel.setFont(new Font("Arial", Font.BOLD, 14));
-            quizTitleLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
-            quizPanel.add(quizTitleLabel);
-            quizPanel.add(Box.createRigidArea(new Dimension(0, 10)));
-            
-            for (Quiz quiz : quizzes) {
-                int quizId = quiz.getId();
-                String question = quiz.getQuestion();
-                List<String> options = quiz.getOptions();
-                
-                JPanel questionPanel = new JPanel();
-                questionPanel.setLayout(new BoxLayout(questionPanel, BoxLayout.Y_AXIS));
-                questionPanel.setBorder(BorderFactory.createEtchedBorder());
-                questionPanel.setMaximumSize(new Dimension(Integer.MAX_VALUE, 200));
-                questionPanel.setAlignmentX(Component.LEFT_ALIGNMENT);
-                
-                JLabel questionLabel = new JLabel("<html><b>Question:</b> " + question + "</html>");
-                questionLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
-                questionPanel.add(questionLabel);
-                questionPanel.add(Box.createRigidArea(new Dimension(0, 10)));
-                
-                // Create radio buttons for options
-                ButtonGroup optionGroup = new ButtonGroup();
-                Map<String, JRadioButton> optionButtons = new HashMap<>();
-                
-                JPanel optionsPanel = new JPanel();
-                optionsPanel.setLayout(new BoxLayout(optionsPanel, BoxLayout.Y_AXIS));
-                optionsPanel.setAlignmentX(Component.LEFT_ALIGNMENT);
-                
-                char optionLetter = 'A';
-                for (String option : options) {
-                    JRadioButton radioButton = new JRadioButton(optionLetter + ". " + option);
-                    radioButton.setAlignmentX(Component.LEFT_ALIGNMENT);
-                    optionGroup.add(radioButton);
-                    optionsPanel.add(radioButton);
-                    optionsPanel.add(Box.createRigidArea(new Dimension(0, 5)));
-                    
-                    // Store the option mapping
-                    optionButtons.put(String.valueOf(optionLetter), radioButton);
-                    optionLetter++;
-                }
-                
-                questionPanel.add(optionsPanel);
-                
-                // Store the button group and options for later submission
-                quizAnswerGroups.put(quizId, optionGroup);
-                quizOptions.put(quizId, optionButtons);
-                
-                quizPanel.add(questionPanel);
-                quizPanel.add(Box.createRigidArea(new Dimension(0, 10)));
-            }
-            
-            JButton submitButton = new JButton("Submit Answers");
-            submitButton.setAlignmentX(Component.LEFT_ALIGNMENT);
-            submitButton.addActionListener(e -> submitQuizAnswers(courseName));
-            quizPanel.add(submitButton);
-        }
-        
-        // Refresh panels
         materialsPanel.revalidate();
         materialsPanel.repaint();
-        quizPanel.revalidate();
-        quizPanel.repaint();
+    }
+    
+    /**
+     * Shows a course's quizzes; only the rows on screen are ever rendered
+     */
+    private void showCourseQuizzes(String courseName, List<Quiz> quizzes) {
+        quizCourse = courseName;
+        quizView.setQuizzes(quizzes);
+        quizTitleLabel.setText(quizzes.isEmpty() ? "No quizzes available for this course" : courseName + " Quiz");
+        submitQuizButton.setEnabled(!quizzes.isEmpty());
     }
     
     /**
@@ -747,26 +852,7 @@ public class frontend extends JFrame implements Observer {
      */
     private void submitQuizAnswers(String courseName) {
         // Collect answers
-        Map<Integer, String> answers = new HashMap<>();
-        
-        for (Map.Entry<Integer, ButtonGroup> entry : quizAnswerGroups.entrySet()) {
-            int quizId = entry.getKey();
-            ButtonGroup group = entry.getValue();
-            Map<String, JRadioButton> options = quizOptions.get(quizId);
-            
-            String selectedOption = null;
-            for (Map.Entry<String, JRadioButton> optionEntry : options.entrySet()) {
-                if (optionEntry.getValue().isSelected()) {
-                    selectedOption = optionEntry.getKey();
-                    break;
-                }
-            }
-            
-            // Add answer if selected
-            if (selectedOption != null) {
-                answers.put(quizId, selectedOption);
-            }
-        }
+        Map<Integer, String> answers = quizView.getAnswers();
         
         if (answers.isEmpty()) {
             JOptionPane.showMessageDialog(this, 
@@ -775,13 +861,19 @@ public class frontend extends JFrame implements Observer {
             return;
         }
         
-        // Submit answers to controller
-        controller.submitQuizAnswers(currentUsername, courseName, answers);
-        
-        // Clear selections (handled by observer pattern)
-        for (ButtonGroup group : quizAnswerGroups.values()) {
-            group.clearSelection();
-        }
+        // Submit answers to controller; a QuizSubmittedEvent shows the score
+        List<Quiz> submittedQuizzes = quizView.getQuizzes();
+        controller.submitQuizAnswers(currentUsername, courseName, answers).whenComplete((score, error) -> {
+            if (error != null) {
+                // Keep the selections so the student can retry
+                showBackendError("Quiz Error", "Could not submit your answers", error);
+                return;
+            }
+            // Unless the student has moved on to another course meanwhile
+            if (quizView.getQuizzes() == submittedQuizzes) {
+                quizView.clearAnswers();
+            }
+        });
     }
     
     /**
@@ -813,63 +905,162 @@ public class frontend extends JFrame implements Observer {
 /**
  * Controller class for the MVC architecture
  * Mediates between the View (frontend) and Model (backend)
+ *
+ * Notifications go out as typed events on an LMSEventBus.
+ * Every call that reaches the database runs on a background executor and
+ * returns a CompletableFuture that completes on the EDT, so callers can touch
+ * Swing components in their callbacks. Cancelling a returned future drops its
+ * result and skips the work if it hasn't started yet.
  */
-class LMSController extends Observable {
-    private backend model;
-    private int lastQuizScore;
+class LMSController {
+    // Built on a worker so pool warm-up, migrations and seeding never block the EDT
+    private final CompletableFuture<backend> model;
+    
+    // Typed notifications for the view; publishing never blocks the caller
+    private final LMSEventBus eventBus = new LMSEventBus();
+    
+    // Runs blocking backend calls; sized with LMS_UI_WORKER_THREADS when virtual threads are unavailable
+    private final ExecutorService executor = LMSExecutors.newTaskExecutor(
+        "lms-ui-worker", envInt("LMS_UI_WORKER_THREADS", 4), 100);
     
     public LMSController() {
-        model = new backend();
+        model = async(this::createBackend);
     }
     
-    public String loginUser(String username, String password) {
-        return model.loginUser(username, password);
+    private backend createBackend() {
+        backend created = new backend();
+        
+        // Upload jobs finish on pipeline threads; subscribers choose where they are delivered
+        created.addUploadListener(job -> {
+            eventBus.publish(new UploadFinishedEvent(job));
+            if (job.getStatus() == UploadJob.Status.COMPLETED) {
+                eventBus.publish(new CoursesUpdatedEvent());
+            }
+        });
+        return created;
     }
     
-    public boolean registerUser(String username, String password, String userType) {
-        return model.registerUser(username, password, userType);
+    /**
+     * Completes on the EDT once the backend has started
+     */
+    public CompletableFuture<Void> whenReady() {
+        return model.thenApply(ready -> null);
+    }
+    
+    /**
+     * Returns the backend, waiting for it to start; only call off the EDT or after whenReady()
+     */
+    private backend model() {
+        return model.join();
     }
     
-    public List<String> getCourses() {
-        return model.getCourses();
+    public LMSEventBus getEventBus() {
+        return eventBus;
     }
     
-    public boolean uploadMaterial(String courseName, File file) {
-        boolean result = model.uploadMaterial(courseName, file);
-        if (result) {
-            setChanged();
-            notifyObservers("COURSES_UPDATED");
+    /**
+     * Runs a backend call on the executor and completes the returned future on the EDT
+     */
+    private <T> CompletableFuture<T> async(Callable<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            Future<?> work = executor.submit(() -> {
+                if (result.isDone()) {
+                    // Cancelled while queued
+                    return;
+                }
+                try {
+                    T value = task.call();
+                    SwingUtilities.invokeLater(() -> result.complete(value));
+                } catch (Exception e) {
+                    SwingUtilities.invokeLater(() -> result.completeExceptionally(e));
+                }
+            });
+            result.whenComplete((value, error) -> {
+                if (result.isCancelled()) {
+                    work.cancel(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(e);
         }
         return result;
     }
     
-    public List<String[]> getCourseMaterials(String courseName) {
-        return model.getCourseMaterials(courseName);
+    private static int envInt(String name, int defaultValue) {
+        try {
+            return System.getenv(name) != null ? Integer.parseInt(System.getenv(name).trim()) : defaultValue;
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
     }
     
-    public List<Quiz> getCourseQuizzes(String courseName) {
-        return model.getCourseQuizzes(courseName);
+    public CompletableFuture<String> loginUser(String username, String password) {
+        return async(() -> model().loginUser(username, password));
     }
     
-    public void submitQuizAnswers(String username, String courseName, Map<Integer, String> answers) {
-        lastQuizScore = model.submitQuizAnswers(username, courseName, answers);
-        setChanged();
-        notifyObservers("QUIZ_SUBMITTED");
+    public CompletableFuture<Boolean> registerUser(String username, String password, String userType) {
+        return async(() -> model().registerUser(username, password, userType));
     }
     
-    public int getLastQuizScore() {
-        return lastQuizScore;
+    public CompletableFuture<List<String>> getCourses() {
+        return async(() -> model().getCourses());
     }
     
-    public List<String[]> getStudentScores(String courseName) {
-        return model.getStudentScores(courseName);
+    /**
+     * Queues an upload; this never blocks, so it stays synchronous
+     */
+    public UploadJob uploadMaterial(String courseName, File file) {
+        return model().submitUpload(courseName, file);
+    }
+    
+    public UploadJob getUploadJob(long jobId) {
+        return model().getUploadJob(jobId);
     }
     
-    public List<String[]> getStudentScoreHistory(String username) {
-        return model.getStudentScoreHistory(username);
+    public CompletableFuture<List<String[]>> getCourseMaterials(String courseName) {
+        return async(() -> model().getCourseMaterials(courseName));
     }
     
-    public void openPDF(String filePath) {
-        model.openPDF(filePath);
+    public CompletableFuture<List<Quiz>> getCourseQuizzes(String courseName) {
+        return async(() -> model().getCourseQuizzes(courseName));
     }
-}
\ No newline at end of file
+    
+    public CompletableFuture<Integer> submitQuizAnswers(String username, String courseName, Map<Integer, String> answers) {
+        return async(() -> {
+            OptionalInt score = model().submitQuizAnswers(username, courseName, answers);
+            if (!score.isPresent()) {
+                // Fails the future, so the view keeps the answers and no score is announced
+                throw new IllegalStateException("the submission was not saved");
+            }
+            eventBus.publish(new QuizSubmittedEvent(username, courseName, score.getAsInt()));
+            return score.getAsInt();
+        });
+    }
+    
+    public CompletableFuture<List<String[]>> getStudentScores(String courseName) {
+        return async(() -> model().getStudentScores(courseName));
+    }
+    
+    /**
+     * Blocking; only for callers already off the EDT, such as ScoresTableModel's loader
+     */
+    public List<String[]> getStudentScoresPage(String courseName, String afterUsername, int pageSize) {
+        return model().getStudentScoresPage(courseName, afterUsername, pageSize);
+    }
+    
+    public CompletableFuture<Integer> countStudentScores(String courseName) {
+        return async(() -> model().countStudentScores(courseName));
+    }
+    
+    public CompletableFuture<List<String[]>> getStudentScoreHistory(String username) {
+        return async(() -> model().getStudentScoreHistory(username));
+    }
+    
+    public CompletableFuture<Void> openPDF(String filePath) {
+        return async(() -> {
+            model().openPDF(filePath);
+            return null;
+        });
+    }
+}